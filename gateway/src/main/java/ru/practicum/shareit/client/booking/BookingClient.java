@@ -1,35 +1,47 @@
 package ru.practicum.shareit.client.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.client.client.BaseClient;
+import ru.practicum.shareit.client.client.ResponseCache;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.client.ResponseCacheConfig.ITEMS_RESPONSE_CACHE;
+
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
+    private final ResponseCache itemsCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         @Qualifier(ITEMS_RESPONSE_CACHE) ResponseCache itemsCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+        this.itemsCache = itemsCache;
     }
 
-    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBookerId(Long userId, String bookingState, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsByBookerId(Long userId, String bookingState,
+                                                              Integer from, Integer size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", bookingState,
+                    "size", size,
+                    "after", after
+            );
+            return get("?state={state}&size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", bookingState,
                 "from", from,
@@ -38,7 +50,16 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByItemOwnerId(Long userId, String bookingState, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsByItemOwnerId(Long userId, String bookingState,
+                                                                 Integer from, Integer size, String after) {
+        if (after != null) {
+            Map<String, Object> parameters = Map.of(
+                    "state", bookingState,
+                    "size", size,
+                    "after", after
+            );
+            return get("/owner?state={state}&size={size}&after={after}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "state", bookingState,
                 "from", from,
@@ -47,12 +68,12 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createBooking(Long userId, BookingDtoIn bookingDto) {
-        return post("", userId, bookingDto);
+    public Mono<ResponseEntity<Object>> createBooking(Long userId, BookingDtoIn bookingDto) {
+        return itemsCache.invalidateOn(post("", userId, bookingDto));
     }
 
-    public ResponseEntity<Object> updateBookingStatus(Long userId, Long bookingId, boolean approve) {
+    public Mono<ResponseEntity<Object>> updateBookingStatus(Long userId, Long bookingId, boolean approve) {
         Map<String, Object> parameters = Map.of("approved", Boolean.toString(approve));
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        return itemsCache.invalidateOn(patch("/" + bookingId + "?approved={approved}", userId, parameters));
     }
 }
@@ -4,57 +4,67 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.client.booking.dto.BookingState;
 import ru.practicum.shareit.client.booking.exception.UnknownBookingStateException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static ru.practicum.shareit.client.client.BaseClient.MAX_PAGE_SIZE;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 @Validated
 public class BookingController {
+    private static final String BOOKING_CURSOR_PATTERN =
+            "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d{1,9})?)?,\\d+$";
+
     private final BookingClient bookingClient;
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                          @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                @PathVariable Long bookingId) {
         return bookingClient.getBookingById(bookerId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByBookerId(
+    public Mono<ResponseEntity<Object>> getAllByBookerId(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam(name = "state", defaultValue = "ALL") String bookingState,
             @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-            @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(defaultValue = "10", required = false) Integer size,
+            @Pattern(regexp = BOOKING_CURSOR_PATTERN) @RequestParam(required = false) String after) {
         BookingState.from(bookingState).orElseThrow(() -> new UnknownBookingStateException(bookingState));
-        return bookingClient.getBookingsByBookerId(bookerId, bookingState, from, size);
+        return bookingClient.getBookingsByBookerId(bookerId, bookingState, from, size, after);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByItemsOwnerId(
+    public Mono<ResponseEntity<Object>> getAllByItemsOwnerId(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam(name = "state", defaultValue = "ALL") String bookingState,
             @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-            @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(defaultValue = "10", required = false) Integer size,
+            @Pattern(regexp = BOOKING_CURSOR_PATTERN) @RequestParam(required = false) String after) {
         BookingState.from(bookingState).orElseThrow(() -> new UnknownBookingStateException(bookingState));
-        return bookingClient.getBookingsByItemOwnerId(bookerId, bookingState, from, size);
+        return bookingClient.getBookingsByItemOwnerId(bookerId, bookingState, from, size, after);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                         @Valid @RequestBody BookingDtoIn bookingDtoIn) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                               @Valid @RequestBody BookingDtoIn bookingDtoIn) {
         return bookingClient.createBooking(bookerId, bookingDtoIn);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                                      @PathVariable Long bookingId,
-                                                      @RequestParam boolean approved) {
+    public Mono<ResponseEntity<Object>> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                            @PathVariable Long bookingId,
+                                                            @RequestParam boolean approved) {
         return bookingClient.updateBookingStatus(bookerId, bookingId, approved);
     }
 }
@@ -1,129 +1,237 @@
 package ru.practicum.shareit.client.client;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    /**
+     * The largest page a caller may ask for. Responses are buffered up to {@code spring.codec.max-in-memory-size},
+     * which is sized to hold a page this large.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    protected final WebClient webClient;
+    private final ConcurrentMap<String, Mono<ResponseEntity<Object>>> inFlightGets = new ConcurrentHashMap<>();
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(WebClient webClient) {
+        this.webClient = webClient;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters) {
         return get(path, null, parameters);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
-    }
-
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return get(path, userId, parameters, null, null);
+    }
+
+    /**
+     * Concurrent identical GETs (same path, parameters, user and {@code If-None-Match}) are coalesced: the first one
+     * is sent to shareit-server, the others wait for and share its response. The call is forgotten once it
+     * completes, so later GETs are sent again; it never removes a newer call for the same key in its place.
+     * A GET loaded for a {@link ResponseCache} only joins a call started since the cache was last invalidated, so
+     * a GET sent after a mutation never shares a response that predates it.
+     *
+     * @param ifNoneMatch the {@code ETag} of a response the caller already has; shareit-server answers
+     *                    {@code 304 Not Modified} without a body if it is still current
+     * @param cache       the cache the response is loaded for, if any
+     */
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                               @Nullable String ifNoneMatch, @Nullable ResponseCache cache) {
+        return Mono.defer(() -> {
+            var key = ResponseCache.key(userId, path, parameters != null ? parameters : Map.of()) + " " + ifNoneMatch
+                    + (cache != null ? " " + cache.generation() : "");
+            return inFlightGets.computeIfAbsent(key, inFlightKey -> {
+                var inFlightGet = new AtomicReference<Mono<ResponseEntity<Object>>>();
+                inFlightGet.set(makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, ifNoneMatch)
+                        .doFinally(signal -> inFlightGets.remove(inFlightKey, inFlightGet.get()))
+                        .share());
+                return inFlightGet.get();
+            });
+        });
+    }
+
+    /**
+     * Relays a newline delimited JSON response from shareit-server as it arrives, instead of buffering the whole
+     * body. The bytes are passed through without being parsed, together with the status and {@code Content-Type},
+     * so an error from shareit-server reaches the caller as it is. Each chunk is requested from shareit-server only
+     * once the previous one has been written out.
+     */
+    protected Mono<ResponseEntity<ResponseBodyEmitter>> getStream(String path) {
+        return getStream(path, MediaType.APPLICATION_NDJSON);
+    }
+
+    /**
+     * Relays a response of the given media type the same way, for bodies that may be larger than
+     * {@code spring.codec.max-in-memory-size}.
+     */
+    protected Mono<ResponseEntity<ResponseBodyEmitter>> getStream(String path, MediaType mediaType) {
+        return webClient.get()
+                .uri(path)
+                .accept(mediaType)
+                .retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> {
+                    ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+                    var contentType = response.getHeaders().getContentType();
+                    if (contentType != null) {
+                        responseBuilder.contentType(contentType);
+                    }
+                    return responseBuilder.body(relay(response.getBody()));
+                });
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId,
-                                              @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId,
-                                             @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId,
+                                                   @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId,
-                                               @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId,
+                                                     @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    /**
+     * Proxies the request to shareit-server without blocking the calling thread and passes the response bytes
+     * through as they are: the body is never parsed into objects and serialized back, only its status,
+     * {@code Content-Type}, {@code ETag} and {@code Link} are copied.
+     */
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body, @Nullable String ifNoneMatch) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId, ifNoneMatch)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> prepareGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                        response.getBody()));
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private static ResponseBodyEmitter relay(Flux<DataBuffer> body) {
+        var emitter = new ResponseBodyEmitter();
+        var relaying = body
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(buffer -> send(emitter, buffer), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(relaying::dispose);
+        emitter.onError(error -> relaying.dispose());
+        return emitter;
+    }
+
+    private static void send(ResponseBodyEmitter emitter, DataBuffer buffer) {
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            var bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            emitter.send(bytes, MediaType.APPLICATION_OCTET_STREAM);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(buffer);
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, @Nullable String ifNoneMatch) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        if (headers != null && headers.getETag() != null) {
+            responseBuilder.eTag(headers.getETag());
+        }
+        if (headers != null && headers.containsKey(HttpHeaders.LINK)) {
+            responseBuilder.header(HttpHeaders.LINK, headers.get(HttpHeaders.LINK).toArray(String[]::new));
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        MediaType contentType = headers == null ? null : headers.getContentType();
+        return responseBuilder
+                .contentType(contentType != null ? contentType : MediaType.APPLICATION_JSON)
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * A single non-blocking, pooled HTTP client shared by all the shareit-server clients: it is picked up by every
+ * {@link org.springframework.web.reactive.function.client.WebClient.Builder}. Pool utilization is exported as the
+ * {@code reactor.netty.connection.provider.*} metrics. With HTTP/2 a pooled connection carries many concurrent
+ * requests, so {@code max-connections} caps connections rather than requests in flight.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider shareItServerConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector shareItServerClientHttpConnector(ConnectionProvider connectionProvider,
+                                                                       HttpClientProperties properties) {
+        var httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .protocol(properties.getProtocol())
+                .compress(properties.isCompression());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings of the HTTP client shared by all the shareit-server clients.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    /**
+     * Maximum number of pooled connections to shareit-server.
+     */
+    private int maxConnections = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /**
+     * How long a request waits for a free connection from the pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /**
+     * Pooled connections are closed once they are older than this, so they get spread over restarted servers.
+     */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    /**
+     * Idle connections older than this are closed by a background evictor.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * {@code H2C} multiplexes concurrent requests over cleartext HTTP/2 connections without an upgrade round trip;
+     * {@code HTTP11} is for a shareit-server that does not speak HTTP/2.
+     */
+    private HttpProtocol protocol = HttpProtocol.H2C;
+    /**
+     * Whether to ask shareit-server for gzip encoded responses; they are decoded before being passed on.
+     */
+    private boolean compression = true;
+}
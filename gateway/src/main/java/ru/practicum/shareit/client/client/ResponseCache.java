@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, short-lived cache of successful shareit-server responses. Only 2xx responses are cached, and
+ * {@link #invalidateAll()} is called by the clients after every mutating call that can change the cached responses.
+ * A response loaded while an invalidation happens is not cached, so a stale response never outlives the invalidation.
+ * <p>
+ * A response is served from the cache for {@code ttl}. After that, and until {@code revalidateWithin} has passed,
+ * it is revalidated with its {@code ETag}: a {@code 304 Not Modified} from shareit-server makes it fresh again without
+ * transferring the body. Hits and misses are exported as the {@code cache.gets} metric tagged with the cache name.
+ */
+public class ResponseCache implements MeterBinder {
+    private final String name;
+    private final Duration ttl;
+    private final Cache<String, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(String name, Duration ttl, Duration revalidateWithin, long maxSize) {
+        this.name = name;
+        this.ttl = ttl;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(revalidateWithin)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public static String key(Long userId, String path, Map<String, Object> parameters) {
+        return userId + " " + path + " " + new TreeMap<>(parameters);
+    }
+
+    /**
+     * @param loader loads the response, sending the given {@code ETag} of the cached response, if any, as
+     *               {@code If-None-Match}
+     */
+    public Mono<ResponseEntity<Object>> get(String key, Function<String, Mono<ResponseEntity<Object>>> loader) {
+        var cachedResponse = cache.getIfPresent(key);
+        if (cachedResponse != null && cachedResponse.isFresh()) {
+            return Mono.just(cachedResponse.response);
+        }
+        var eTag = cachedResponse != null ? cachedResponse.response.getHeaders().getETag() : null;
+        var loadGeneration = generation.get();
+        return loader.apply(eTag).map(response -> {
+            var currentResponse = response;
+            if (eTag != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                currentResponse = cachedResponse.response;
+            }
+            if (currentResponse.getStatusCode().is2xxSuccessful() && generation.get() == loadGeneration) {
+                cache.put(key, new CachedResponse(currentResponse, System.nanoTime() + ttl.toNanos()));
+            }
+            return currentResponse;
+        });
+    }
+
+    /**
+     * Invalidates the cache once the mutating call completes, successfully or not, before its response is passed on.
+     * The call is not cancelled with its subscriber: shareit-server may apply the mutation anyway, so it runs to the
+     * end and invalidates the cache only then, when no response loaded afterwards can predate the mutation.
+     */
+    public Mono<ResponseEntity<Object>> invalidateOn(Mono<ResponseEntity<Object>> mutation) {
+        return Mono.defer(() -> {
+            var completedMutation = mutation.doOnEach(signal -> {
+                if (signal.isOnNext() || signal.isOnError()) {
+                    invalidateAll();
+                }
+            }).cache();
+            completedMutation.subscribe(response -> { }, error -> { });
+            return completedMutation;
+        });
+    }
+
+    /**
+     * The number of invalidations so far; a response loaded in an earlier generation may predate a mutation.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    private static final class CachedResponse {
+        private final ResponseEntity<Object> response;
+        private final long freshUntilNanos;
+
+        private CachedResponse(ResponseEntity<Object> response, long freshUntilNanos) {
+            this.response = response;
+            this.freshUntilNanos = freshUntilNanos;
+        }
+
+        private boolean isFresh() {
+            return System.nanoTime() - freshUntilNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.client.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResponseCacheConfig {
+    public static final String ITEMS_RESPONSE_CACHE = "itemsResponseCache";
+    public static final String REQUESTS_RESPONSE_CACHE = "requestsResponseCache";
+
+    @Bean(ITEMS_RESPONSE_CACHE)
+    public ResponseCache itemsResponseCache(
+            @Value("${shareit.response-cache.ttl}") Duration ttl,
+            @Value("${shareit.response-cache.revalidate-within}") Duration revalidate,
+            @Value("${shareit.response-cache.max-size}") long maxSize) {
+        return new ResponseCache("items", ttl, revalidate, maxSize);
+    }
+
+    @Bean(REQUESTS_RESPONSE_CACHE)
+    public ResponseCache requestsResponseCache(
+            @Value("${shareit.response-cache.ttl}") Duration ttl,
+            @Value("${shareit.response-cache.revalidate-within}") Duration revalidate,
+            @Value("${shareit.response-cache.max-size}") long maxSize) {
+        return new ResponseCache("requests", ttl, revalidate, maxSize);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Answers a matching {@code If-None-Match} on the item, booking and request endpoints with
+ * {@code 304 Not Modified} and no body. The {@code ETag} relayed from shareit-server is kept as is; it is computed
+ * from the response body only when shareit-server did not send one, and is then weak, like the one of
+ * shareit-server, so that the response can still be gzip encoded.
+ */
+@Configuration
+public class EtagConfig {
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        var filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items", "/items/*", "/bookings", "/bookings/*", "/requests", "/requests/*");
+        return registration;
+    }
+}
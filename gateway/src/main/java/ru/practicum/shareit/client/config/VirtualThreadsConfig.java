@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling, i.e. parsing and validation before the call to shareit-server is handed over to
+ * the non-blocking client, on virtual threads when {@code shareit.virtual-threads.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
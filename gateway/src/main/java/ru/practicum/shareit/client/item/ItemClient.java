@@ -1,63 +1,77 @@
 package ru.practicum.shareit.client.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.client.BaseClient;
+import ru.practicum.shareit.client.client.ResponseCache;
 import ru.practicum.shareit.client.comment.dto.CommentDtoIn;
 import ru.practicum.shareit.client.item.dto.ItemDtoIn;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.client.ResponseCacheConfig.ITEMS_RESPONSE_CACHE;
+import static ru.practicum.shareit.client.client.ResponseCacheConfig.REQUESTS_RESPONSE_CACHE;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache itemsCache;
+    private final ResponseCache requestsCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      @Qualifier(ITEMS_RESPONSE_CACHE) ResponseCache itemsCache,
+                      @Qualifier(REQUESTS_RESPONSE_CACHE) ResponseCache requestsCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+        this.itemsCache = itemsCache;
+        this.requestsCache = requestsCache;
     }
 
-    public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemById(Long userId, Long itemId) {
+        var path = "/" + itemId;
+        return itemsCache.get(ResponseCache.key(userId, path, Map.of()),
+                eTag -> get(path, userId, null, eTag, itemsCache));
     }
 
-    public ResponseEntity<Object> getAllItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItems(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> createItem(Long userId, ItemDtoIn item) {
-        return post("", userId, item);
+    public Mono<ResponseEntity<Object>> createItem(Long userId, ItemDtoIn item) {
+        return invalidateItemResponses(post("", userId, item));
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDtoIn item) {
-        return patch("/" + itemId, userId, item);
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDtoIn item) {
+        return invalidateItemResponses(patch("/" + itemId, userId, item));
     }
 
-    public ResponseEntity<Object> deleteItem(Long userId, Long itemId) {
-        return delete("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> deleteItem(Long userId, Long itemId) {
+        return invalidateItemResponses(delete("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> searchItemByText(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItemByText(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", parameters);
+        var path = "/search?text={text}&from={from}&size={size}";
+        return itemsCache.get(ResponseCache.key(null, path, parameters),
+                eTag -> get(path, null, parameters, eTag, itemsCache));
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(Long userId, Long itemId, CommentDtoIn comment) {
+        return itemsCache.invalidateOn(post("/" + itemId + "/comment", userId, comment));
     }
 
-    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDtoIn comment) {
-        return post("/" + itemId + "/comment", userId, comment);
+    private Mono<ResponseEntity<Object>> invalidateItemResponses(Mono<ResponseEntity<Object>> mutation) {
+        return itemsCache.invalidateOn(requestsCache.invalidateOn(mutation));
     }
 }
@@ -1,44 +1,62 @@
 package ru.practicum.shareit.client.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.client.BaseClient;
+import ru.practicum.shareit.client.client.ResponseCache;
 import ru.practicum.shareit.client.request.dto.ItemRequestDtoIn;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.client.client.ResponseCacheConfig.REQUESTS_RESPONSE_CACHE;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache requestsCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             @Qualifier(REQUESTS_RESPONSE_CACHE) ResponseCache requestsCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+        this.requestsCache = requestsCache;
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestById(Long userId, Long requestId) {
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long userId, Long requestId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequestsFromOtherUsers(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequestsFromOtherUsers(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
-        return get("/all", userId, parameters);
+        var path = "/all?from={from}&size={size}";
+        return requestsCache.get(ResponseCache.key(userId, path, parameters),
+                eTag -> get(path, userId, parameters, eTag, requestsCache));
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequestFeed(Long userId, String after, Integer size) {
+        Map<String, Object> parameters = after == null
+                ? Map.of("size", size)
+                : Map.of("size", size, "after", after);
+        var path = after == null ? "/feed?size={size}" : "/feed?size={size}&after={after}";
+        return requestsCache.get(ResponseCache.key(userId, path, parameters),
+                eTag -> get(path, userId, parameters, eTag, requestsCache));
+    }
+
+    public Mono<ResponseEntity<Object>> getSuggestedItems(Long userId, Long requestId) {
+        return get("/" + requestId + "/suggestions", userId);
     }
 
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDtoIn itemRequest) {
-        return post("", userId, itemRequest);
+    public Mono<ResponseEntity<Object>> createItemRequest(Long userId, ItemRequestDtoIn itemRequest) {
+        return requestsCache.invalidateOn(post("", userId, itemRequest));
     }
 }
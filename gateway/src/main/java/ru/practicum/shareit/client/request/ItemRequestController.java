@@ -4,41 +4,62 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.request.dto.ItemRequestDtoIn;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static ru.practicum.shareit.client.client.BaseClient.MAX_PAGE_SIZE;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "/requests")
 @Validated
 public class ItemRequestController {
+    private static final String ITEM_REQUEST_CURSOR_PATTERN = "^[A-Za-z0-9_-]+$";
+
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @Valid @RequestBody ItemRequestDtoIn itemRequestDto) {
+    public Mono<ResponseEntity<Object>> save(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                             @Valid @RequestBody ItemRequestDtoIn itemRequestDto) {
         return itemRequestClient.createItemRequest(userId, itemRequestDto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long requestId) {
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
         return itemRequestClient.getAllItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequestsFromOtherUsers(
+    public Mono<ResponseEntity<Object>> getAllItemRequestsFromOtherUsers(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
-            @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(defaultValue = "10", required = false) Integer size) {
         return itemRequestClient.getAllItemRequestsFromOtherUsers(userId, from, size);
     }
+
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<Object>> getItemRequestFeed(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @Pattern(regexp = ITEM_REQUEST_CURSOR_PATTERN) @RequestParam(required = false) String after,
+            @Positive @Max(MAX_PAGE_SIZE) @RequestParam(defaultValue = "10", required = false) Integer size) {
+        return itemRequestClient.getItemRequestFeed(userId, after, size);
+    }
+
+    @GetMapping("/{requestId}/suggestions")
+    public Mono<ResponseEntity<Object>> getSuggestedItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @PathVariable Long requestId) {
+        return itemRequestClient.getSuggestedItems(userId, requestId);
+    }
 }
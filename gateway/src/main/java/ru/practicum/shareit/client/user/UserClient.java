@@ -2,44 +2,55 @@ package ru.practicum.shareit.client.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.client.BaseClient;
 import ru.practicum.shareit.client.user.dto.UserDto;
 
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<ResponseBodyEmitter>> getAllUsers() {
+        return getStream("", MediaType.APPLICATION_JSON);
+    }
+
+    public Mono<ResponseEntity<Object>> getUsersPage(Long afterId, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
         );
+        return get("?afterId={afterId}&size={size}", parameters);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public Mono<ResponseEntity<ResponseBodyEmitter>> streamAllUsers() {
+        return getStream("/stream");
     }
 
-    public ResponseEntity<Object> getUserById(Long userId) {
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> createUser(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 }
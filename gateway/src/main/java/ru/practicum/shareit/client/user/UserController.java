@@ -1,40 +1,68 @@
 package ru.practicum.shareit.client.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.user.dto.UserDto;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+import static ru.practicum.shareit.client.client.BaseClient.MAX_PAGE_SIZE;
 
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
+@Validated
 public class UserController {
     private final UserClient userClient;
 
-    @GetMapping
-    public ResponseEntity<Object> getAll() {
+    /**
+     * Returns every user, as it always has. The list is relayed without being buffered, so it is not limited by
+     * {@code spring.codec.max-in-memory-size}.
+     */
+    @GetMapping(params = {"!afterId", "!size"})
+    public Mono<ResponseEntity<ResponseBodyEmitter>> getAll() {
         return userClient.getAllUsers();
     }
 
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getPage(@PositiveOrZero
+                                                @RequestParam(defaultValue = "0", required = false) Long afterId,
+                                                @Positive
+                                                @Max(MAX_PAGE_SIZE)
+                                                @RequestParam(defaultValue = "1000", required = false) Integer size) {
+        return userClient.getUsersPage(afterId, size);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ResponseBodyEmitter>> streamAll() {
+        return userClient.streamAllUsers();
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getById(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> getById(@PathVariable Long userId) {
         return userClient.getUserById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.createUser(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public @Valid ResponseEntity<Object> update(@PathVariable Long userId, @RequestBody UserDto userDto) {
+    public @Valid Mono<ResponseEntity<Object>> update(@PathVariable Long userId, @RequestBody UserDto userDto) {
         return userClient.updateUser(userId, userDto);
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable Long userId) {
-        userClient.deleteUser(userId);
+    public Mono<Void> delete(@PathVariable Long userId) {
+        return userClient.deleteUser(userId).then();
     }
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Uses the {@link WebClient.Builder} configured for the gateway, whose buffer limit must hold a full page.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class BaseClientResponseSizeTest {
+    private static final int BODY_SIZE = 1024 * 1024;
+
+    @Autowired
+    private WebClient.Builder builder;
+
+    @Test
+    void responseLargerThanTheDefaultBufferLimitIsPassedThrough() {
+        var body = "[\"" + "a".repeat(BODY_SIZE) + "\"]";
+        var client = new TestClient(builder
+                .clientConnector((method, uri, requestCallback) -> {
+                    var response = new MockClientHttpResponse(HttpStatus.OK);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    response.setBody(body);
+                    return requestCallback.apply(new MockClientHttpRequest(method, uri)).thenReturn(response);
+                })
+                .build());
+
+        var response = client.get("/bookings").block();
+
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(((byte[]) response.getBody()).length, is(body.length()));
+    }
+
+    private static final class TestClient extends BaseClient {
+        private TestClient(WebClient webClient) {
+            super(webClient);
+        }
+    }
+}
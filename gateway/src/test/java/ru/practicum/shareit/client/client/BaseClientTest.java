@@ -0,0 +1,168 @@
+package ru.practicum.shareit.client.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class BaseClientTest {
+    private static final int GETS_COUNT = 16;
+    private static final String PATH = "/items";
+
+    private final AtomicInteger upstreamGets = new AtomicInteger();
+    private Sinks.One<ClientResponse> pendingGet;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() {
+        pendingGet = null;
+        var webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    if (request.method() != HttpMethod.GET) {
+                        return Mono.just(response("mutated"));
+                    }
+                    var body = String.valueOf(upstreamGets.incrementAndGet());
+                    return pendingGet != null ? pendingGet.asMono() : Mono.just(response(body));
+                })
+                .build();
+        client = new TestClient(webClient);
+    }
+
+    @Test
+    void concurrentGetsAreSentUpstreamOnce() throws Exception {
+        pendingGet = Sinks.one();
+        ExecutorService executor = Executors.newFixedThreadPool(GETS_COUNT);
+        var startGate = new CountDownLatch(1);
+        var subscriptions = new ArrayList<Future<CompletableFuture<ResponseEntity<Object>>>>();
+        for (int i = 0; i < GETS_COUNT; i++) {
+            subscriptions.add(executor.submit(() -> {
+                startGate.await();
+                return client.get(PATH, 1L).toFuture();
+            }));
+        }
+        startGate.countDown();
+        var responses = new ArrayList<CompletableFuture<ResponseEntity<Object>>>();
+        for (Future<CompletableFuture<ResponseEntity<Object>>> subscription : subscriptions) {
+            responses.add(subscription.get());
+        }
+        executor.shutdown();
+
+        pendingGet.tryEmitValue(response("shared"));
+
+        for (CompletableFuture<ResponseEntity<Object>> response : responses) {
+            assertThat(body(response.get()), is("shared"));
+        }
+        assertThat(upstreamGets.get(), is(1));
+    }
+
+    @Test
+    void getIsSentAgainOnceTheSharedGetCompletes() {
+        assertThat(body(client.get(PATH, 1L).block()), is("1"));
+        assertThat(body(client.get(PATH, 1L).block()), is("2"));
+    }
+
+    @Test
+    void getIsSentAgainOnceAllItsSubscribersCancel() {
+        pendingGet = Sinks.one();
+        client.get(PATH, 1L).subscribe().dispose();
+
+        pendingGet = null;
+        assertThat(body(client.get(PATH, 1L).block()), is("2"));
+    }
+
+    @Test
+    void getsWithDifferentUsersAreNotCoalesced() {
+        pendingGet = Sinks.one();
+        client.get(PATH, 1L).subscribe();
+        client.get(PATH, 2L).subscribe();
+
+        assertThat(upstreamGets.get(), is(2));
+    }
+
+    @Test
+    void getPassesTheNextPageLinkThrough() {
+        var link = "</users?afterId=2&size=2>; rel=\"next\"";
+        pendingGet = Sinks.one();
+        pendingGet.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.LINK, link)
+                .body("[]")
+                .build());
+
+        assertThat(client.get(PATH, 1L).block().getHeaders().get(HttpHeaders.LINK), is(List.of(link)));
+    }
+
+    @Test
+    void mutationInvalidatesCachedResponsesBeforeItsResponseIsReturned() {
+        var cache = new ResponseCache("test", Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        assertThat(body(client.cachedGet(cache).block()), is("1"));
+        assertThat(body(client.cachedGet(cache).block()), is("1"));
+
+        var bodiesSeenAfterMutation = new ArrayList<String>();
+        var mutationResponse = cache.invalidateOn(client.post(PATH, 1L, Map.of()))
+                .doOnNext(response -> bodiesSeenAfterMutation.add(body(client.cachedGet(cache).block())))
+                .block();
+
+        assertThat(body(mutationResponse), is("mutated"));
+        assertThat(bodiesSeenAfterMutation, is(List.of("2")));
+        assertThat(upstreamGets.get(), is(2));
+    }
+
+    @Test
+    void getSentAfterMutationDoesNotJoinGetStartedBeforeIt() throws Exception {
+        var cache = new ResponseCache("test", Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        var staleGet = Sinks.<ClientResponse>one();
+        pendingGet = staleGet;
+        var getBeforeMutation = client.cachedGet(cache).toFuture();
+
+        pendingGet = null;
+        cache.invalidateOn(client.post(PATH, 1L, Map.of())).block();
+        assertThat(body(client.cachedGet(cache).block(Duration.ofSeconds(5))), is("2"));
+
+        staleGet.tryEmitValue(response("stale"));
+        assertThat(body(getBeforeMutation.get()), is("stale"));
+        assertThat(body(client.cachedGet(cache).block()), is("2"));
+        assertThat(upstreamGets.get(), is(2));
+    }
+
+    private static ClientResponse response(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", "application/json")
+                .body(body)
+                .build();
+    }
+
+    private static String body(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static final class TestClient extends BaseClient {
+        private TestClient(WebClient webClient) {
+            super(webClient);
+        }
+
+        private Mono<ResponseEntity<Object>> cachedGet(ResponseCache cache) {
+            return cache.get(ResponseCache.key(1L, PATH, Map.of()), eTag -> get(PATH, 1L, null, eTag, cache));
+        }
+    }
+}
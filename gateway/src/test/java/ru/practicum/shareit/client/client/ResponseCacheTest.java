@@ -0,0 +1,63 @@
+package ru.practicum.shareit.client.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ResponseCacheTest {
+    private static final String KEY = ResponseCache.key(1L, "/items", Map.of());
+
+    private ResponseCache responseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new ResponseCache("test", Duration.ofMinutes(1), Duration.ofMinutes(5), 100);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void invalidateOnInvalidatesBeforeTheResponseIsPassedOn() {
+        responseCache.get(KEY, this::load).block();
+
+        var loadsSeenByMutationSubscriber = responseCache.invalidateOn(Mono.just(ResponseEntity.ok("mutated")))
+                .map(response -> responseCache.get(KEY, this::load).block())
+                .block();
+
+        assertThat(loadsSeenByMutationSubscriber.getBody(), is(2));
+    }
+
+    @Test
+    void invalidateOnInvalidatesWhenTheMutationCompletesAfterItsSubscriberCancelled() {
+        responseCache.get(KEY, this::load).block();
+        var mutation = Sinks.<ResponseEntity<Object>>one();
+
+        responseCache.invalidateOn(mutation.asMono()).subscribe().dispose();
+        assertThat(responseCache.get(KEY, this::load).block().getBody(), is(1));
+
+        mutation.tryEmitValue(ResponseEntity.ok("mutated"));
+        assertThat(responseCache.get(KEY, this::load).block().getBody(), is(2));
+    }
+
+    @Test
+    void invalidateOnInvalidatesWhenTheMutationFails() {
+        responseCache.get(KEY, this::load).block();
+
+        responseCache.invalidateOn(Mono.error(new IllegalStateException())).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(responseCache.get(KEY, this::load).block().getBody(), is(2));
+    }
+
+    private Mono<ResponseEntity<Object>> load(String eTag) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(loads.incrementAndGet()));
+    }
+}
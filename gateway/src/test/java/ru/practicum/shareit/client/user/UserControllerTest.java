@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client.user;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.NestedServletException;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static ru.practicum.shareit.client.client.BaseClient.MAX_PAGE_SIZE;
+
+@WebMvcTest(controllers = UserController.class)
+public class UserControllerTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+    private static final AtomicReference<ClientRequest> SERVER_REQUEST = new AtomicReference<>();
+    private static final AtomicReference<ClientResponse> SERVER_RESPONSE = new AtomicReference<>();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @TestConfiguration
+    static class UserClientConfig {
+        @Bean
+        UserClient userClient() {
+            return new UserClient("http://shareit-server", WebClient.builder()
+                    .exchangeFunction(request -> {
+                        SERVER_REQUEST.set(request);
+                        return Mono.fromSupplier(SERVER_RESPONSE::get);
+                    }));
+        }
+    }
+
+    @Test
+    void streamAllPassesTheUsersThroughAsTheyAre() throws Exception {
+        var users = "{\"id\":1,\"name\":\"Name\",\"email\":\"user@mail.com\"}\n"
+                + "{\"id\":2,\"name\":\"Other\",\"email\":\"other@mail.com\"}\n";
+        SERVER_RESPONSE.set(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                .body(users)
+                .build());
+
+        var response = streamAll();
+
+        assertThat(response.getStatus(), is(HttpStatus.OK.value()));
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_NDJSON_VALUE));
+        assertThat(response.getContentAsString(), is(users));
+    }
+
+    @Test
+    void streamAllPassesTheServerErrorThrough() throws Exception {
+        var error = "{\"status\":\"SERVICE_UNAVAILABLE\",\"message\":\"Too many user streams\"}";
+        SERVER_RESPONSE.set(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        var response = streamAll();
+
+        assertThat(response.getStatus(), is(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_JSON_VALUE));
+        assertThat(response.getContentAsString(), is(error));
+    }
+
+    @Test
+    void getAllWithoutParametersRelaysEveryUser() throws Exception {
+        var users = "[{\"id\":1,\"name\":\"Name\",\"email\":\"user@mail.com\"},"
+                + "{\"id\":2,\"name\":\"Other\",\"email\":\"other@mail.com\"}]";
+        SERVER_RESPONSE.set(ClientResponse.create(HttpStatus.OK)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .body(users)
+                .build());
+
+        var response = relay(get("/users").accept(MediaType.APPLICATION_JSON));
+
+        assertThat(SERVER_REQUEST.get().url().toString(), is("http://shareit-server/users"));
+        assertThat(response.getStatus(), is(HttpStatus.OK.value()));
+        assertThat(response.getContentType(), is(MediaType.APPLICATION_JSON_VALUE));
+        assertThat(response.getContentAsString(), is(users));
+    }
+
+    @Test
+    void getPageRejectsPagesLargerThanTheMaxPageSize() {
+        var e = Assertions.assertThrows(NestedServletException.class, () -> mvc.perform(get("/users")
+                .param("size", String.valueOf(MAX_PAGE_SIZE + 1))));
+
+        assertThat(e.getCause() instanceof ConstraintViolationException, is(true));
+    }
+
+    /**
+     * The server response is awaited asynchronously, and then its body is relayed asynchronously in turn.
+     */
+    private MockHttpServletResponse streamAll() throws Exception {
+        return relay(get("/users/stream").accept(MediaType.APPLICATION_NDJSON));
+    }
+
+    private MockHttpServletResponse relay(MockHttpServletRequestBuilder request) throws Exception {
+        var serverResponse = mvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var relayedResponse = mvc.perform(asyncDispatch(serverResponse))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        relayedResponse.getAsyncResult(TIMEOUT_MILLIS);
+        return relayedResponse.getResponse();
+    }
+}
@@ -25,7 +25,11 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String bookingState,
             @RequestParam(defaultValue = "0", required = false) Integer from,
-            @RequestParam(defaultValue = "10", required = false) Integer size) {
+            @RequestParam(defaultValue = "10", required = false) Integer size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingService.getBookingsByBookerIdAfter(userId, bookingState, after, size);
+        }
         return bookingService.getBookingsByBookerId(userId, bookingState, from, size);
     }
 
@@ -34,7 +38,11 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String bookingState,
             @RequestParam(defaultValue = "0", required = false) Integer from,
-            @RequestParam(defaultValue = "10", required = false) Integer size) {
+            @RequestParam(defaultValue = "10", required = false) Integer size,
+            @RequestParam(required = false) String after) {
+        if (after != null) {
+            return bookingService.getBookingsByItemOwnerIdAfter(userId, bookingState, after, size);
+        }
         return bookingService.getBookingsByItemOwnerId(userId, bookingState, from, size);
     }
 
@@ -1,11 +1,10 @@
 package ru.practicum.shareit.booking.dto;
 
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
@@ -15,7 +14,36 @@ public class BookingDtoOut {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private ItemDto item;
+    private BookerDto booker;
     private BookingStatus status;
+
+    /**
+     * Used by the booking listings to read the rows straight into the DTO, without loading the booking, its item and
+     * its booker as entities.
+     */
+    public BookingDtoOut(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName,
+                         Long bookerId, BookingStatus status) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+        this.item = new ItemDto(itemId, itemName);
+        this.booker = new BookerDto(bookerId);
+        this.status = status;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemDto {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookerDto {
+        private Long id;
+    }
 }
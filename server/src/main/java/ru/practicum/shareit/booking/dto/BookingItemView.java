@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingItemView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+
+    Boolean getLastBooking();
+}
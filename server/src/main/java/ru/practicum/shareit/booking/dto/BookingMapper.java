@@ -6,9 +6,6 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.item.ItemNotFoundByIdException;
 import ru.practicum.shareit.item.repository.ItemRepository;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class BookingMapper {
     public static BookingDtoOut toBookingDto(Booking booking) {
@@ -16,8 +13,8 @@ public final class BookingMapper {
         bookingDto.setId(booking.getId());
         bookingDto.setStart(booking.getStart());
         bookingDto.setEnd(booking.getEnd());
-        bookingDto.setItem(booking.getItem());
-        bookingDto.setBooker(booking.getBooker());
+        bookingDto.setItem(new BookingDtoOut.ItemDto(booking.getItem().getId(), booking.getItem().getName()));
+        bookingDto.setBooker(new BookingDtoOut.BookerDto(booking.getBooker().getId()));
         bookingDto.setStatus(booking.getStatus());
         return bookingDto;
     }
@@ -32,9 +29,13 @@ public final class BookingMapper {
         return bookingItemDto;
     }
 
-
-    public static List<BookingDtoOut> toBookingDtos(List<Booking> bookings) {
-        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    public static BookingItemDtoOut toBookingItemDtoOut(BookingItemView bookingView) {
+        var bookingItemDto = new BookingItemDtoOut();
+        bookingItemDto.setId(bookingView.getId());
+        bookingItemDto.setStart(bookingView.getStartDate());
+        bookingItemDto.setEnd(bookingView.getEndDate());
+        bookingItemDto.setBookerId(bookingView.getBookerId());
+        return bookingItemDto;
     }
 
     public static Booking toBooking(BookingDtoIn bookingDto, ItemRepository itemRepository) {
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.booking.BookingException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+@Value
+public class BookingCursor {
+    private static final String SEPARATOR = ",";
+
+    LocalDateTime start;
+    Long id;
+
+    public static BookingCursor from(String token) {
+        var parts = token.split(SEPARATOR);
+        if (parts.length != 2) {
+            throw new BookingException(String.format("Invalid booking cursor: %s", token));
+        }
+        try {
+            return new BookingCursor(LocalDateTime.parse(parts[0].trim()), Long.valueOf(parts[1].trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BookingException(String.format("Invalid booking cursor: %s", token));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return start + SEPARATOR + id;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Value;
+
+@Value
+public class BookingFilter {
+    Long bookerId;
+    Long itemOwnerId;
+    BookingState state;
+
+    public static BookingFilter byBooker(Long bookerId, BookingState state) {
+        return new BookingFilter(bookerId, null, state);
+    }
+
+    public static BookingFilter byItemOwner(Long itemOwnerId, BookingState state) {
+        return new BookingFilter(null, itemOwnerId, state);
+    }
+}
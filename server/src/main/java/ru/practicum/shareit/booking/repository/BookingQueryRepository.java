@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+
+import java.util.List;
+
+/**
+ * Booking listings composed from a {@link BookingFilter}: booker or item owner, state and status predicates.
+ * Results are ordered by {@code start desc, id desc} and are read straight into {@link BookingDtoOut} in a single
+ * statement: only the columns it shows are selected and no entities are loaded.
+ */
+public interface BookingQueryRepository {
+    List<BookingDtoOut> findBookings(BookingFilter filter, Pageable pageable);
+
+    /**
+     * Keyset pagination: the page starts right after the {@link BookingCursor} of the last row of the previous one,
+     * so the cost of a page does not depend on how deep it is.
+     */
+    List<BookingDtoOut> findBookingsAfter(BookingFilter filter, BookingCursor after, int size);
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    private static final String NOW_PARAMETER = "now";
+    private static final Set<BookingState> TIME_BASED_STATES =
+            EnumSet.of(BookingState.CURRENT, BookingState.PAST, BookingState.FUTURE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDtoOut> findBookings(BookingFilter filter, Pageable pageable) {
+        var query = createQuery(filter, null);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<BookingDtoOut> findBookingsAfter(BookingFilter filter, BookingCursor after, int size) {
+        return createQuery(filter, after)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private TypedQuery<BookingDtoOut> createQuery(BookingFilter filter, @Nullable BookingCursor after) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(BookingDtoOut.class);
+        var booking = query.from(Booking.class);
+
+        Join<Booking, Item> item = booking.join("item");
+
+        var predicates = new ArrayList<Predicate>();
+        if (filter.getBookerId() != null) {
+            predicates.add(cb.equal(booking.get("booker").get("id"), filter.getBookerId()));
+        }
+        if (filter.getItemOwnerId() != null) {
+            predicates.add(cb.equal(item.get("owner").get("id"), filter.getItemOwnerId()));
+        }
+
+        var now = cb.parameter(LocalDateTime.class, NOW_PARAMETER);
+        predicates.addAll(statePredicates(cb, booking, filter.getState(), now));
+
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        if (after != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, after.getStart()),
+                    cb.and(cb.equal(start, after.getStart()), cb.lessThan(id, after.getId()))));
+        }
+
+        query.select(cb.construct(BookingDtoOut.class, id, start, booking.get("end"), item.get("id"),
+                        item.get("name"), booking.get("booker").get("id"), booking.get("status")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        var typedQuery = entityManager.createQuery(query);
+        if (TIME_BASED_STATES.contains(filter.getState())) {
+            typedQuery.setParameter(now, LocalDateTime.now());
+        }
+        return typedQuery;
+    }
+
+    private static List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> booking, BookingState state,
+                                                   ParameterExpression<LocalDateTime> now) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        switch (state) {
+            case CURRENT:
+                return List.of(cb.lessThanOrEqualTo(start, now), cb.greaterThan(end, now));
+            case PAST:
+                return List.of(cb.lessThan(end, now));
+            case FUTURE:
+                return List.of(cb.greaterThan(start, now));
+            case WAITING:
+                return List.of(cb.equal(booking.get("status"), BookingStatus.WAITING));
+            case REJECTED:
+                return List.of(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+            default:
+                return List.of();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
@@ -8,68 +8,29 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 
 import javax.transaction.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
 
 @Transactional
-public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "order by b.start desc")
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.start <= current_timestamp " +
-            "and b.end > current_timestamp " +
-            "")
-    List<Booking> findCurrentBookingsByBookerId(Long bookerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.end < current_timestamp " +
-            "order by b.start desc")
-    List<Booking> findPastBookingsByBookerId(Long bookerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.start > current_timestamp " +
-            "order by b.start desc")
-    List<Booking> findFutureBookingsByBookerId(Long bookerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.status = ?2 " +
-            "order by b.start desc")
-    List<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus bookingStatus, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "order by b.start desc ")
-    List<Booking> findAllByItemOwnerId(Long itemOwnerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.start <= current_timestamp " +
-            "and b.end > current_timestamp " +
-            "order by b.start desc ")
-    List<Booking> findCurrentBookingsByItemOwnerId(Long itemsOwnerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.end < current_timestamp " +
-            "order by b.start desc ")
-    List<Booking> findPastBookingsByItemOwnerId(Long itemsOwnerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.start > current_timestamp " +
-            "order by b.start desc ")
-    List<Booking> findFutureBookingsByItemOwnerId(Long itemsOwnerId, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.item.owner.id = ?1 " +
-            "and b.status = ?2 " +
-            "order by b.start desc ")
-    List<Booking> findAllByItemOwnerIdAndStatus(Long itemsOwnerId, BookingStatus bookingStatus, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom,
+        BookingQueryRepository {
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long bookingId);
+
+    @Query("select count(b) > 0 from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.status in ?4 " +
+            "and b.start < ?3 " +
+            "and b.end > ?2")
+    boolean existsOverlappingBooking(Long itemId, LocalDateTime start, LocalDateTime end,
+                                     Collection<BookingStatus> bookingStatuses);
+
+    /**
+     * Checks whether the booker has an approved booking of the item that is already over. Served by
+     * {@code idx_bookings_booker_id_item_id_end_date} and stops at the first matching row.
+     */
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, BookingStatus status,
+                                                           LocalDateTime end);
 }
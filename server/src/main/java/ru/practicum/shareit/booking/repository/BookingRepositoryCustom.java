@@ -2,8 +2,11 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingItemView;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Transactional
@@ -22,11 +25,14 @@ public interface BookingRepositoryCustom {
             "limit 1", nativeQuery = true)
     Optional<Booking> findNextBookingByItemId(Long itemId);
 
-    @Query(value = "select * from bookings b " +
-            "where b.booker_id = ?1 " +
-            "and b.item_id = ?2 " +
-            "and b.end_date < now() " +
-            "order by b.start_date desc " +
-            "limit 1", nativeQuery = true)
-    Optional<Booking> findLastFinishedBookingByBookerIdAndItemId(Long bookerId, Long itemId);
+    @Query(value = "select t.id as id, t.item_id as itemId, t.booker_id as bookerId, " +
+            "t.start_date as startDate, t.end_date as endDate, t.last_booking as lastBooking " +
+            "from (select b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "b.end_date < now() as last_booking, " +
+            "row_number() over (partition by b.item_id, b.end_date < now() order by b.start_date desc) as rn " +
+            "from bookings b " +
+            "where b.item_id in (?1) " +
+            "and (b.end_date < now() or b.start_date > now())) t " +
+            "where t.rn = 1", nativeQuery = true)
+    List<BookingItemView> findLastAndNextBookingsByItemIds(Collection<Long> itemIds);
 }
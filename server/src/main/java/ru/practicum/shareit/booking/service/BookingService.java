@@ -14,5 +14,9 @@ public interface BookingService {
 
     List<BookingDtoOut> getBookingsByItemOwnerId(Long itemsOwnerId, String state, Integer from, Integer size);
 
+    List<BookingDtoOut> getBookingsByBookerIdAfter(Long bookerId, String state, String after, Integer size);
+
+    List<BookingDtoOut> getBookingsByItemOwnerIdAfter(Long itemsOwnerId, String state, String after, Integer size);
+
     BookingDtoOut updateBookingStatus(Long bookingId, Long userId, boolean approved);
 }
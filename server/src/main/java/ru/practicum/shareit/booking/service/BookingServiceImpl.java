@@ -2,13 +2,17 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -20,15 +24,21 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Set<BookingStatus> BLOCKING_BOOKING_STATUSES =
+            EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
@@ -53,34 +63,10 @@ public class BookingServiceImpl implements BookingService {
                 bookerId, bookingState, from, size);
         var state = BookingState.valueOf(bookingState);
 
-        userService.getUserById(bookerId);
-
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        List<Booking> bookings;
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findCurrentBookingsByBookerId(bookerId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastBookingsByBookerId(bookerId, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureBookingsByBookerId(bookerId, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
-                break;
-            case ALL:
-                bookings = bookingRepository.findAllByBookerId(bookerId, pageable);
-                break;
-            default:
-                bookings = Collections.emptyList();
-        }
-        return BookingMapper.toBookingDtos(bookings);
+        userService.checkUserExists(bookerId);
+
+        return bookingRepository.findBookings(BookingFilter.byBooker(bookerId, state),
+                PageRequest.of(from / size, size));
     }
 
     @Override
@@ -90,39 +76,45 @@ public class BookingServiceImpl implements BookingService {
                 itemsOwnerId, bookingState, from, size);
         var state = BookingState.valueOf(bookingState);
 
-        userService.getUserById(itemsOwnerId);
-
-        Pageable pageable = PageRequest.of(from / size, size);
-
-        List<Booking> bookings;
-        switch (state) {
-            case CURRENT:
-                bookings = bookingRepository.findCurrentBookingsByItemOwnerId(itemsOwnerId, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findPastBookingsByItemOwnerId(itemsOwnerId, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findFutureBookingsByItemOwnerId(itemsOwnerId, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(itemsOwnerId,
-                        BookingStatus.WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatus(itemsOwnerId,
-                        BookingStatus.REJECTED, pageable);
-                break;
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwnerId(itemsOwnerId, pageable);
-                break;
-            default:
-                bookings = Collections.emptyList();
-        }
-        return BookingMapper.toBookingDtos(bookings);
+        userService.checkUserExists(itemsOwnerId);
+
+        return bookingRepository.findBookings(BookingFilter.byItemOwner(itemsOwnerId, state),
+                PageRequest.of(from / size, size));
+    }
+
+    @Override
+    public List<BookingDtoOut> getBookingsByBookerIdAfter(Long bookerId, String bookingState,
+                                                          String after, Integer size) {
+        log.debug("The request to getBookingsByBookerIdAfter(bookerId={}, bookingState={}, after={}, size={})",
+                bookerId, bookingState, after, size);
+        var state = BookingState.valueOf(bookingState);
+        var cursor = BookingCursor.from(after);
+
+        userService.checkUserExists(bookerId);
+
+        return bookingRepository.findBookingsAfter(BookingFilter.byBooker(bookerId, state), cursor, size);
+    }
+
+    @Override
+    public List<BookingDtoOut> getBookingsByItemOwnerIdAfter(Long itemsOwnerId, String bookingState,
+                                                             String after, Integer size) {
+        log.debug("The request to getBookingsByItemOwnerIdAfter(itemsOwnerId={}, bookingState={}, after={}, " +
+                "size={})", itemsOwnerId, bookingState, after, size);
+        var state = BookingState.valueOf(bookingState);
+        var cursor = BookingCursor.from(after);
+
+        userService.checkUserExists(itemsOwnerId);
+
+        return bookingRepository.findBookingsAfter(BookingFilter.byItemOwner(itemsOwnerId, state), cursor, size);
     }
 
+    /**
+     * The item row stays locked from the overlap check until the booking is committed, so two concurrent requests
+     * for the same period cannot both be saved. On PostgreSQL {@code excl_bookings_item_id_period} rejects
+     * overlapping waiting or approved bookings as well.
+     */
     @Override
+    @Transactional
     public BookingDtoOut saveBooking(BookingDtoIn bookingDtoIn, Long bookerId) {
         log.debug("The request to saveBooking(bookingDtoIn={}, bookerId={})", bookingDtoIn, bookerId);
         var booker = userService.getUserById(bookerId);
@@ -132,14 +124,19 @@ public class BookingServiceImpl implements BookingService {
         booking.setStatus(BookingStatus.WAITING);
         booking.setBooker(UserMapper.toUser(booker));
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        try {
+            return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        } catch (DataIntegrityViolationException e) {
+            if (!isExclusionViolation(e)) throw e;
+            throw overlappingBookingException(booking);
+        }
     }
 
     @Override
     public BookingDtoOut updateBookingStatus(Long bookingId, Long userId, boolean approved) {
         log.debug("The request to updateBookingStatus(bookingId={}, userId={}, approved={})",
                 bookingId, userId, approved);
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         var booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundByIdException(bookingId));
 
@@ -190,5 +187,24 @@ public class BookingServiceImpl implements BookingService {
                     String.format("The booking start (%s) time cannot be later than the booking end time (%s)",
                             start.format(formatter), end.format(formatter)));
         }
+
+        itemRepository.lockById(itemId);
+        if (bookingRepository.existsOverlappingBooking(itemId, start, end, BLOCKING_BOOKING_STATUSES)) {
+            throw overlappingBookingException(booking);
+        }
+    }
+
+    private static BookingException overlappingBookingException(Booking booking) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        return new BookingException(
+                String.format("The booking item {id=%s} is already booked for the period from %s to %s",
+                        booking.getItem().getId(), booking.getStart().format(formatter),
+                        booking.getEnd().format(formatter)));
+    }
+
+    private static boolean isExclusionViolation(DataIntegrityViolationException e) {
+        var cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof SQLException
+                && EXCLUSION_VIOLATION_SQL_STATE.equals(((SQLException) cause).getSQLState());
     }
 }
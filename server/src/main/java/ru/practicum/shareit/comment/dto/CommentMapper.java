@@ -30,4 +30,14 @@ public final class CommentMapper {
         commentDtoOut.setCreated(comment.getCreated());
         return commentDtoOut;
     }
+
+    public static CommentDtoOut toCommentDtoOut(CommentView commentView) {
+        var commentDtoOut = new CommentDtoOut();
+        commentDtoOut.setId(commentView.getId());
+        commentDtoOut.setText(commentView.getText());
+        commentDtoOut.setItemName(commentView.getItemName());
+        commentDtoOut.setAuthorName(commentView.getAuthorName());
+        commentDtoOut.setCreated(commentView.getCreated());
+        return commentDtoOut;
+    }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.comment.dto;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+    Long getId();
+
+    String getText();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -1,12 +1,26 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.model.Comment;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 @Transactional
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = {"item", "author"})
     List<Comment> findCommentsByItemId(Long itemId);
+
+    @Query("select c.id as id, c.text as text, i.id as itemId, i.name as itemName, " +
+            "a.name as authorName, c.created as created " +
+            "from Comment c " +
+            "join c.item i " +
+            "join c.author a " +
+            "where i.id in ?1 " +
+            "order by c.created")
+    List<CommentView> findCommentViewsByItemIdIn(Collection<Long> itemIds);
 }
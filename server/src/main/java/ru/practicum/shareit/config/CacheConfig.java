@@ -0,0 +1,15 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caches are Caffeine-backed and configured through {@code spring.cache.*}; hit and miss counts are exported
+ * as the {@code cache.gets} actuator metric.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String USERS_CACHE = "users";
+    public static final String USER_EXISTS_CACHE = "userExists";
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Adds an {@code ETag} computed from the response body to the item, booking and request endpoints and answers
+ * a matching {@code If-None-Match} with {@code 304 Not Modified} and no body. The {@code ETag} is weak because the
+ * same body is sent both plain and gzip encoded; Tomcat does not compress responses with a strong one.
+ */
+@Configuration
+public class EtagConfig {
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        var filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items", "/items/*", "/bookings", "/bookings/*", "/requests", "/requests/*");
+        return registration;
+    }
+}
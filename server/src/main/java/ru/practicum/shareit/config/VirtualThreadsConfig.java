@@ -0,0 +1,24 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling on virtual threads when {@code shareit.virtual-threads.enabled=true}.
+ * <p>
+ * Tomcat's worker pool no longer caps the number of requests in flight, so the fixed-size Hikari pool
+ * ({@code spring.datasource.hikari.*}) becomes the limit for database work: requests beyond it wait up to
+ * {@code connection-timeout} for a connection and then fail instead of queueing without bound.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception.request;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ItemRequestAccessException extends RuntimeException {
+    public ItemRequestAccessException(String message) {
+        super(message);
+    }
+}
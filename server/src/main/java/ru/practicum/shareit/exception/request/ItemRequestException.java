@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception.request;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ItemRequestException extends RuntimeException {
+    public ItemRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.exception.user;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UserStreamLimitExceededException extends RuntimeException {
+    public UserStreamLimitExceededException(int maxConcurrentStreams) {
+        super(String.format("All {%s} user streams are in use, try again later.", maxConcurrentStreams));
+    }
+}
@@ -3,22 +3,38 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 @Transactional
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
 
+    /**
+     * The result ids are kept in the query cache until the next write to {@code items}; the items themselves come
+     * from the entity cache.
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
-    @Query("select i from Item i " +
-            "where lower(i.name) like lower(concat('%', ?1, '%')) " +
-            "or lower(i.description) like lower(concat('%', ?1, '%')) " +
-            "and i.available = true " +
-            "order by i.id")
-    List<Item> searchByText(String text, Pageable pageable);
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Locks the item row until the end of the current transaction ({@code select ... for update}), so the bookings
+     * of one item are checked for overlaps and saved one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> lockById(Long itemId);
 }
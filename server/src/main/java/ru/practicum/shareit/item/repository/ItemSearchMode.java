@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.repository;
+
+import java.util.Locale;
+
+public enum ItemSearchMode {
+    LIKE,
+    FULL_TEXT,
+    IN_MEMORY;
+
+    public static ItemSearchMode from(String mode) {
+        return valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
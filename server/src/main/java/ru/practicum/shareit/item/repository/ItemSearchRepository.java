@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Search over available items by name and description. The strategy is chosen by
+ * {@code shareit.item.search-mode}: {@code like} scans with {@code lower(...) like '%text%'} and works on any
+ * database, {@code full-text} uses the PostgreSQL {@code tsvector} column and trigram indexes and orders
+ * the matches by relevance. With {@code in-memory} this is the fallback used until the in-memory index is built.
+ */
+public interface ItemSearchRepository {
+    List<Item> searchAvailableItems(String text, Pageable pageable);
+}
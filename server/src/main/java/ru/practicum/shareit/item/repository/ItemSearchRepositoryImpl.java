@@ -0,0 +1,50 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.util.List;
+
+public class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String LIKE_SEARCH_QUERY = "select i from Item i " +
+            "where i.available = true " +
+            "and (lower(i.name) like lower(concat('%', :text, '%')) " +
+            "or lower(i.description) like lower(concat('%', :text, '%'))) " +
+            "order by i.id";
+    private static final String FULL_TEXT_SEARCH_QUERY = "select i.* from items i " +
+            "where i.is_available = true " +
+            "and (i.search_vector @@ plainto_tsquery('simple', :text) " +
+            "or lower(i.name) like concat('%', :text, '%') " +
+            "or lower(i.description) like concat('%', :text, '%')) " +
+            "order by ts_rank(i.search_vector, plainto_tsquery('simple', :text)) desc, i.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ItemSearchMode searchMode;
+
+    public ItemSearchRepositoryImpl(@Value("${shareit.item.search-mode:like}") String searchMode) {
+        this.searchMode = ItemSearchMode.from(searchMode);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> searchAvailableItems(String text, Pageable pageable) {
+        Query query;
+        if (searchMode == ItemSearchMode.FULL_TEXT) {
+            query = entityManager.createNativeQuery(FULL_TEXT_SEARCH_QUERY, Item.class);
+        } else {
+            query = entityManager.createQuery(LIKE_SEARCH_QUERY, Item.class);
+        }
+        query.setParameter("text", text);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,314 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over item names and descriptions, enabled by {@code shareit.item.search-mode=in-memory}.
+ * Every item gets an int ordinal; each trigram of the lower-cased name and description of an available item maps
+ * to a sorted int array of ordinals, so unavailable items never become candidates. A query intersects the postings
+ * of its trigrams and then checks the candidates for the substring, so the results match
+ * {@code lower(...) like '%text%'} over available items without touching the database.
+ * <p>
+ * The index is rebuilt from the database once the application is ready and kept up to date by
+ * {@link #index(Item)}; until the first rebuild finishes {@link #isReady()} is {@code false}. A rebuild loads the
+ * items and builds the new postings without the lock, so searches keep using the old ones meanwhile; the items
+ * indexed during the load are replayed onto the new postings before they are swapped in.
+ * <p>
+ * Updates are indexed after their commits, which may run in any order, so a document only replaces one with an
+ * older {@link Item#getVersion() version}.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Postings postings = new Postings();
+    private Map<Long, ItemDocument> indexedDuringRebuild;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository, @Value("${shareit.item.search-mode:like}") String searchMode) {
+        this.itemRepository = itemRepository;
+        this.enabled = ItemSearchMode.from(searchMode) == ItemSearchMode.IN_MEMORY;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if (!enabled) return;
+        lock.writeLock().lock();
+        try {
+            indexedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Postings rebuiltPostings;
+        try {
+            var loadedDocuments = itemRepository.findAll().parallelStream()
+                    .map(ItemDocument::new)
+                    .sorted(Comparator.comparing(document -> document.id))
+                    .collect(Collectors.toList());
+            rebuiltPostings = new Postings(loadedDocuments);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                indexedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexedDuringRebuild.values().forEach(rebuiltPostings::put);
+            indexedDuringRebuild = null;
+            postings = rebuiltPostings;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("The item search index is rebuilt: {} items, {} grams",
+                rebuiltPostings.documents.size(), rebuiltPostings.ordinalsByGram.size());
+    }
+
+    public void index(Item item) {
+        if (!enabled) return;
+        var document = new ItemDocument(item);
+        lock.writeLock().lock();
+        try {
+            postings.put(document);
+            if (indexedDuringRebuild != null) {
+                indexedDuringRebuild.merge(document.id, document,
+                        (indexed, updated) -> updated.isOlderThan(indexed) ? indexed : updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemDtoOut> search(String text, Pageable pageable) {
+        var query = text.toLowerCase(Locale.ROOT).trim();
+        lock.readLock().lock();
+        try {
+            var matches = candidates(query).stream()
+                    .map(postings.documents::get)
+                    .filter(document -> document.matches(query))
+                    .sorted(Comparator.comparing(document -> document.id));
+            if (pageable.isPaged()) {
+                matches = matches.skip(pageable.getOffset()).limit(pageable.getPageSize());
+            }
+            return matches.map(ItemDocument::toItemDto).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return allOrdinals();
+        }
+        var gramOrdinals = new ArrayList<Ordinals>();
+        for (String gram : grams(query)) {
+            var ordinalsOfGram = postings.ordinalsByGram.get(gram);
+            if (ordinalsOfGram == null || ordinalsOfGram.size == 0) return List.of();
+            gramOrdinals.add(ordinalsOfGram);
+        }
+        gramOrdinals.sort(Comparator.comparingInt(ordinalsOfGram -> ordinalsOfGram.size));
+
+        var ordinals = Arrays.copyOf(gramOrdinals.get(0).ordinals, gramOrdinals.get(0).size);
+        var size = ordinals.length;
+        for (int i = 1; i < gramOrdinals.size() && size > 0; i++) {
+            size = gramOrdinals.get(i).retainIn(ordinals, size);
+        }
+        return Arrays.stream(ordinals, 0, size).boxed().collect(Collectors.toList());
+    }
+
+    private List<Integer> allOrdinals() {
+        var ordinals = new ArrayList<Integer>(postings.documents.size());
+        for (int ordinal = 0; ordinal < postings.documents.size(); ordinal++) {
+            ordinals.add(ordinal);
+        }
+        return ordinals;
+    }
+
+    private static Set<String> grams(String value) {
+        var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class ItemDocument {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Long requestId;
+        private final Long version;
+        private final String lowerName;
+        private final String lowerDescription;
+
+        private ItemDocument(Item item) {
+            id = item.getId();
+            name = item.getName();
+            description = item.getDescription();
+            available = Boolean.TRUE.equals(item.getAvailable());
+            requestId = item.getRequest() == null ? null : item.getRequest().getId();
+            version = item.getVersion();
+            lowerName = name == null ? "" : name.toLowerCase(Locale.ROOT);
+            lowerDescription = description == null ? "" : description.toLowerCase(Locale.ROOT);
+        }
+
+        private Set<String> grams() {
+            if (!available) return new HashSet<>();
+            var grams = ItemSearchIndex.grams(lowerName);
+            grams.addAll(ItemSearchIndex.grams(lowerDescription));
+            return grams;
+        }
+
+        /**
+         * Documents without a version, such as those of items that were never saved, are never considered older.
+         */
+        private boolean isOlderThan(ItemDocument other) {
+            return version != null && other.version != null && version < other.version;
+        }
+
+        private boolean matches(String query) {
+            return available && (lowerName.contains(query) || lowerDescription.contains(query));
+        }
+
+        private ItemDtoOut toItemDto() {
+            var itemDto = new ItemDtoOut();
+            itemDto.setId(id);
+            itemDto.setName(name);
+            itemDto.setDescription(description);
+            itemDto.setAvailable(available);
+            itemDto.setRequestId(requestId);
+            return itemDto;
+        }
+    }
+
+    /**
+     * The documents by ordinal and the ordinals of the documents containing each gram. Guarded by the index lock
+     * once it is in use.
+     */
+    private static final class Postings {
+        private final List<ItemDocument> documents = new ArrayList<>();
+        private final Map<Long, Integer> ordinalsByItemId = new HashMap<>();
+        private final Map<String, Ordinals> ordinalsByGram = new HashMap<>();
+
+        private Postings() {
+        }
+
+        /**
+         * Builds the postings of documents sorted by id, computing their grams in parallel.
+         */
+        private Postings(List<ItemDocument> sortedDocuments) {
+            var grams = sortedDocuments.parallelStream()
+                    .map(ItemDocument::grams)
+                    .collect(Collectors.toList());
+            for (int ordinal = 0; ordinal < sortedDocuments.size(); ordinal++) {
+                var document = sortedDocuments.get(ordinal);
+                documents.add(document);
+                ordinalsByItemId.put(document.id, ordinal);
+                for (String gram : grams.get(ordinal)) {
+                    ordinalsByGram.computeIfAbsent(gram, key -> new Ordinals()).add(ordinal);
+                }
+            }
+        }
+
+        /**
+         * Adds the document or replaces the one of the same item, unless that one is newer.
+         */
+        private void put(ItemDocument document) {
+            var ordinal = ordinalsByItemId.get(document.id);
+            if (ordinal == null) {
+                ordinal = documents.size();
+                documents.add(document);
+                ordinalsByItemId.put(document.id, ordinal);
+            } else {
+                var indexed = documents.get(ordinal);
+                if (document.isOlderThan(indexed)) return;
+                for (String gram : indexed.grams()) {
+                    ordinalsByGram.get(gram).remove(ordinal);
+                }
+                documents.set(ordinal, document);
+            }
+            for (String gram : document.grams()) {
+                ordinalsByGram.computeIfAbsent(gram, key -> new Ordinals()).add(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Sorted, growable array of item ordinals.
+     */
+    private static final class Ordinals {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            var position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position >= 0) return;
+            position = -position - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+            ordinals[position] = ordinal;
+            size++;
+        }
+
+        private void remove(int ordinal) {
+            var position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (position < 0) return;
+            System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+            size--;
+        }
+
+        /**
+         * Keeps in the first {@code length} elements of {@code target} only the ordinals present in these postings
+         * and returns the new length.
+         */
+        private int retainIn(int[] target, int length) {
+            var retained = 0;
+            for (int i = 0; i < length; i++) {
+                if (Arrays.binarySearch(ordinals, 0, size, target[i]) >= 0) {
+                    target[retained++] = target[i];
+                }
+            }
+            return retained;
+        }
+    }
+}
@@ -3,14 +3,19 @@ package ru.practicum.shareit.item.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingItemView;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentDtoIn;
 import ru.practicum.shareit.comment.dto.CommentDtoOut;
 import ru.practicum.shareit.comment.dto.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exception.booking.BookingException;
@@ -22,11 +27,17 @@ import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -38,11 +49,14 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRequestMatcher itemRequestMatcher;
+    private final ItemSuggestionRepository itemSuggestionRepository;
 
     @Override
     public ItemDtoOut getItemById(Long itemId, Long userId) {
         log.debug("The request to getItemById(itemId={}, userId={})", itemId, userId);
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
         var item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundByIdException(itemId));
 
@@ -55,7 +69,12 @@ public class ItemServiceImpl implements ItemService {
         return itemDto;
     }
 
+    /**
+     * Saves the item and its suggestions for the open requests it may answer in one transaction. The in-memory
+     * indexes are updated only once it commits, so a failed save leaves the answered request open.
+     */
     @Override
+    @Transactional
     public ItemDtoOut saveItem(ItemDtoIn itemDtoIn, Long userId) {
         log.debug("The request to saveItem(itemDtoIn={}, userId={})", itemDtoIn, userId);
         var owner = userService.getUserById(userId);
@@ -65,14 +84,28 @@ public class ItemServiceImpl implements ItemService {
             itemRequestRepository.findById(itemDtoIn.getRequestId())
                     .ifPresent(item::setRequest);
         }
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        var savedItem = itemRepository.save(item);
+        itemSuggestionRepository.saveAll(itemRequestMatcher.match(savedItem));
+        afterCommit(() -> {
+            itemSearchIndex.index(savedItem);
+            if (savedItem.getRequest() != null) itemRequestMatcher.close(savedItem.getRequest().getId());
+        });
+        return ItemMapper.toItemDto(savedItem);
     }
 
+    /**
+     * Updates the item and, once it is renamed or made available again, suggests it for the open requests it may
+     * now answer, in the same transaction. Requests it is already suggested for keep their suggestions.
+     * <p>
+     * The item row is locked, so concurrent updates of one item wait for each other instead of failing on its
+     * version, and the versions follow the order of the commits.
+     */
     @Override
+    @Transactional
     public ItemDtoOut updateItem(ItemDtoIn itemDtoIn, Long itemId, Long userId) {
         log.debug("The request to updateItem(itemDtoIn={}, itemId={}, userId={})", itemDtoIn, itemId, userId);
         var owner = userService.getUserById(userId);
-        var item = itemRepository.findById(itemId)
+        var item = itemRepository.lockById(itemId)
                 .orElseThrow(() -> new ItemNotFoundByIdException(itemId));
 
         var ownerId = owner.getId();
@@ -83,40 +116,43 @@ public class ItemServiceImpl implements ItemService {
         var updatedItemDescription = updatedItem.getDescription();
         var updatedItemAvailable = updatedItem.getAvailable();
 
+        var renamed = updatedItemName != null && !updatedItemName.isBlank()
+                && !updatedItemName.equals(item.getName());
+        var madeAvailable = Boolean.TRUE.equals(updatedItemAvailable) && !Boolean.TRUE.equals(item.getAvailable());
+
         if (updatedItemName != null && !updatedItemName.isBlank()) item.setName(updatedItemName);
         if (updatedItemDescription != null && !updatedItemDescription.isBlank())
             item.setDescription(updatedItemDescription);
         if (updatedItemAvailable != null) item.setAvailable(updatedItemAvailable);
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        var savedItem = itemRepository.save(item);
+        if (renamed || madeAvailable) saveNewItemSuggestions(savedItem);
+        afterCommit(() -> itemSearchIndex.index(savedItem));
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
     public List<ItemDtoOut> getItems(Long userId, Integer from, Integer size) {
         log.debug("The request to getItems(itemDtoIn={}, itemId={}, userId={})", userId, from, size);
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
         var items = itemRepository.findAllByOwnerId(userId,
                 PageRequest.of(from, size, Sort.by(Sort.Direction.ASC, "id")));
 
-        var itemDtos = new ArrayList<ItemDtoOut>();
-
-        for (Item item : items) {
-            var itemDto = ItemMapper.toItemDto(item);
-            if (item.getOwner().getId().equals(userId)) {
-                setNextAndLastBookings(itemDto);
-            }
-            itemDto.setComments(CommentMapper.toCommentDtos(
-                    commentRepository.findCommentsByItemId(itemDto.getId())));
-            itemDtos.add(itemDto);
-        }
+        var itemDtos = ItemMapper.toItemDtos(items);
+        setNextAndLastBookings(itemDtos);
+        setComments(itemDtos);
         return itemDtos;
     }
 
     @Override
     public List<ItemDtoOut> searchItem(String text, Integer from, Integer size) {
         log.debug("The request to searchItem(text={}, from={}, size={})", text, from, size);
-        return ItemMapper.toItemDtos(itemRepository.searchByText(text.toLowerCase().trim(), PageRequest.of(from, size)));
+        var pageable = PageRequest.of(from, size);
+        if (itemSearchIndex.isReady()) {
+            return itemSearchIndex.search(text, pageable);
+        }
+        return ItemMapper.toItemDtos(itemRepository.searchAvailableItems(text.toLowerCase().trim(), pageable));
     }
 
     @Override
@@ -125,7 +161,8 @@ public class ItemServiceImpl implements ItemService {
         var item = itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundByIdException(itemId));
         var user = UserMapper.toUser(userService.getUserById(userId));
 
-        if (bookingRepository.findPastBookingsByBookerId(userId, Pageable.unpaged()).isEmpty()) {
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId,
+                BookingStatus.APPROVED, LocalDateTime.now())) {
             throw new BookingException(String.format("The user {id=%s} don't book the item {id=%s}", userId, itemId));
         }
 
@@ -136,10 +173,61 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDtoOut(commentRepository.save(comment));
     }
 
+    private void saveNewItemSuggestions(Item item) {
+        var suggestedRequestIds = itemSuggestionRepository.findRequestIdsByItemId(item.getId());
+        itemSuggestionRepository.saveAll(itemRequestMatcher.match(item).stream()
+                .filter(itemSuggestion -> !suggestedRequestIds.contains(itemSuggestion.getRequest().getId()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away without one. Nothing runs on rollback.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private void setNextAndLastBookings(ItemDtoOut itemDto) {
         itemDto.setLastBooking(BookingMapper.toBookingItemDtoOut(
                 bookingRepository.findLastBookingByItemId(itemDto.getId()).orElse(null)));
         itemDto.setNextBooking(BookingMapper.toBookingItemDtoOut(
                 bookingRepository.findNextBookingByItemId(itemDto.getId()).orElse(null)));
     }
+
+    private void setNextAndLastBookings(List<ItemDtoOut> itemDtos) {
+        if (itemDtos.isEmpty()) return;
+        var itemDtosById = itemDtos.stream()
+                .collect(Collectors.toMap(ItemDtoOut::getId, Function.identity()));
+
+        for (BookingItemView booking : bookingRepository.findLastAndNextBookingsByItemIds(itemDtosById.keySet())) {
+            var itemDto = itemDtosById.get(booking.getItemId());
+            if (booking.getLastBooking()) {
+                itemDto.setLastBooking(BookingMapper.toBookingItemDtoOut(booking));
+            } else {
+                itemDto.setNextBooking(BookingMapper.toBookingItemDtoOut(booking));
+            }
+        }
+    }
+
+    private void setComments(List<ItemDtoOut> itemDtos) {
+        if (itemDtos.isEmpty()) return;
+        var itemIds = itemDtos.stream().map(ItemDtoOut::getId).collect(Collectors.toList());
+
+        Map<Long, List<CommentDtoOut>> commentsByItemId = commentRepository.findCommentViewsByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDtoOut, Collectors.toList())));
+
+        itemDtos.forEach(itemDto ->
+                itemDto.setComments(commentsByItemId.getOrDefault(itemDto.getId(), new ArrayList<>())));
+    }
 }
@@ -2,8 +2,10 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
@@ -38,4 +40,17 @@ public class ItemRequestController {
             @RequestParam(defaultValue = "10", required = false) Integer size) {
         return itemRequestService.getItemRequestsFromOtherUsers(userId, from, size);
     }
+
+    @GetMapping("/feed")
+    public ItemRequestFeedDtoOut getItemRequestFeed(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "10", required = false) Integer size) {
+        return itemRequestService.getItemRequestFeed(userId, after, size);
+    }
+
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemDtoOut> getSuggestedItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              @PathVariable Long requestId) {
+        return itemRequestService.getSuggestedItems(userId, requestId);
+    }
 }
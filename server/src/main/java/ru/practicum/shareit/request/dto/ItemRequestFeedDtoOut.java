@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemRequestFeedDtoOut {
+    private List<ItemRequestDtoOut> requests;
+    /**
+     * Pass it as {@code after} to get the next page; {@code null} on the last page.
+     */
+    private String nextCursor;
+}
@@ -2,8 +2,6 @@ package ru.practicum.shareit.request.dto;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.dto.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.time.LocalDateTime;
@@ -17,12 +15,6 @@ public final class ItemRequestMapper {
         itemRequestDtoOut.setId(itemRequest.getId());
         itemRequestDtoOut.setDescription(itemRequest.getDescription());
         itemRequestDtoOut.setCreated(itemRequest.getCreated());
-
-        List<Item> items = itemRequest.getItems();
-        if (items != null) {
-            itemRequestDtoOut.setItems(ItemMapper.toItemDtos(itemRequest.getItems()));
-        }
-
         return itemRequestDtoOut;
     }
 
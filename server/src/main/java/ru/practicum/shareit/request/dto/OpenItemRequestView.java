@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.dto;
+
+public interface OpenItemRequestView {
+    Long getId();
+
+    Long getRequesterId();
+
+    String getDescription();
+}
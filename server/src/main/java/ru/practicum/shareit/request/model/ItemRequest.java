@@ -2,30 +2,30 @@ package ru.practicum.shareit.request.model;
 
 import lombok.Getter;
 import lombok.Setter;
-import ru.practicum.shareit.item.model.Item;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Objects;
 
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "itemRequestEntity")
 @Table(name = "requests")
 public class ItemRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String description;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     private User requester;
     private LocalDateTime created;
-    @OneToMany(fetch = FetchType.LAZY, mappedBy = "request")
-    private List<Item> items;
 
     @Override
     public boolean equals(Object o) {
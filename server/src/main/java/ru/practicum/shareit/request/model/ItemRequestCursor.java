@@ -0,0 +1,38 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.request.ItemRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * The position of the last request of a feed page. Clients get it as an opaque token and pass it back as is.
+ */
+@Value
+public class ItemRequestCursor {
+    private static final String SEPARATOR = ",";
+
+    LocalDateTime created;
+    Long id;
+
+    public static ItemRequestCursor from(String token) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new ItemRequestException(String.format("Invalid item request cursor: %s", token));
+            }
+            return new ItemRequestCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ItemRequestException(String.format("Invalid item request cursor: %s", token));
+        }
+    }
+
+    public String toToken() {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((created + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
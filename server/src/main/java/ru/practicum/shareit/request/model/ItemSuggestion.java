@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * An item that may answer an item request of another user, found by matching the item name against the request
+ * description when the item was posted or renamed or made available again.
+ * <p>
+ * Ids come from a sequence allocated {@value #ID_ALLOCATION_SIZE} at a time, so the suggestions of an item are
+ * inserted in one JDBC batch, which an identity column would not allow.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "item_suggestions")
+public class ItemSuggestion {
+    private static final int ID_ALLOCATION_SIZE = 20;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_suggestions_id_seq")
+    @SequenceGenerator(name = "item_suggestions_id_seq", allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "request_id")
+    private ItemRequest request;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "item_id")
+    private Item item;
+    private Integer score;
+    private LocalDateTime created;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemSuggestion that = (ItemSuggestion) o;
+        return id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
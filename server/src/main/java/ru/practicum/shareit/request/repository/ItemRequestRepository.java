@@ -2,13 +2,38 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import ru.practicum.shareit.request.dto.OpenItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends CrudRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequesterId(Long requesterId, Sort sort);
 
     List<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    List<ItemRequest> findAllByRequesterIdNotOrderByCreatedDescIdDesc(Long requesterId, Pageable pageable);
+
+    /**
+     * Keyset pagination: the page starts right after the request with the given {@code created} and {@code id}, so
+     * it is read from the {@code (created desc, id desc)} index however deep it is. Only the page size of
+     * {@code pageable} is used.
+     */
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<ItemRequest> findAllByRequesterIdNotAfter(Long requesterId, LocalDateTime created, Long id,
+                                                   Pageable pageable);
+
+    /**
+     * The requests no item has been posted in answer to yet.
+     */
+    @Query("select r.id as id, r.requester.id as requesterId, r.description as description " +
+            "from ItemRequest r " +
+            "where not exists (select i.id from Item i where i.request = r)")
+    List<OpenItemRequestView> findOpenItemRequestViews();
 }
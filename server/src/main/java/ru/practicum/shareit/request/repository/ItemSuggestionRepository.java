@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Set;
+
+@Transactional
+public interface ItemSuggestionRepository extends JpaRepository<ItemSuggestion, Long> {
+    /**
+     * The items suggested for the request that are still available, best matches first.
+     */
+    @Query("select i from ItemSuggestion s " +
+            "join s.item i " +
+            "where s.request.id = ?1 " +
+            "and i.available = true " +
+            "order by s.score desc, i.id desc")
+    List<Item> findAvailableItemsByRequestId(Long requestId);
+
+    @Query("select s.request.id from ItemSuggestion s where s.item.id = ?1")
+    Set<Long> findRequestIdsByItemId(Long itemId);
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index from the words of open item request descriptions to the requests, so a new item is
+ * matched against the requests it may answer without scanning {@code requests}. A request is open until an item is
+ * posted in answer to it. Every open request of another user whose description shares a word with the name of an
+ * available item is a candidate, scored by the number of shared words; {@link #match(Item)} returns the
+ * {@value #MAX_SUGGESTIONS_PER_ITEM} best of them, the newest requests first among equal scores.
+ * <p>
+ * The index is rebuilt from the database once the application is ready and kept up to date by
+ * {@link #index(ItemRequest)} and {@link #close(Long)}.
+ */
+@Slf4j
+@Component
+public class ItemRequestMatcher {
+    public static final int MAX_SUGGESTIONS_PER_ITEM = 20;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, OpenRequest> openRequestsById = new HashMap<>();
+    private final Map<String, Set<Long>> requestIdsByWord = new HashMap<>();
+
+    public ItemRequestMatcher(ItemRequestRepository itemRequestRepository) {
+        this.itemRequestRepository = itemRequestRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            openRequestsById.clear();
+            requestIdsByWord.clear();
+            itemRequestRepository.findOpenItemRequestViews()
+                    .forEach(view -> add(new OpenRequest(view.getId(), view.getRequesterId(),
+                            words(view.getDescription()))));
+            log.info("The item request matcher is rebuilt: {} open requests, {} words", openRequestsById.size(),
+                    requestIdsByWord.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(ItemRequest itemRequest) {
+        var openRequest = new OpenRequest(itemRequest.getId(), itemRequest.getRequester().getId(),
+                words(itemRequest.getDescription()));
+        lock.writeLock().lock();
+        try {
+            add(openRequest);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops matching new items against the request, once an item has been posted in answer to it.
+     */
+    public void close(Long requestId) {
+        lock.writeLock().lock();
+        try {
+            var openRequest = openRequestsById.remove(requestId);
+            if (openRequest == null) return;
+            for (String word : openRequest.words) {
+                var requestIds = requestIdsByWord.get(word);
+                requestIds.remove(requestId);
+                if (requestIds.isEmpty()) requestIdsByWord.remove(word);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the suggestions of the item for the open requests it may answer; they are not saved.
+     */
+    public List<ItemSuggestion> match(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) return List.of();
+        var ownerId = item.getOwner().getId();
+        var scoresByRequestId = new HashMap<Long, Integer>();
+        lock.readLock().lock();
+        try {
+            for (String word : words(item.getName())) {
+                for (Long requestId : requestIdsByWord.getOrDefault(word, Set.of())) {
+                    if (!openRequestsById.get(requestId).requesterId.equals(ownerId)) {
+                        scoresByRequestId.merge(requestId, 1, Integer::sum);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        var created = LocalDateTime.now();
+        return scoresByRequestId.entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(MAX_SUGGESTIONS_PER_ITEM)
+                .map(score -> toItemSuggestion(score.getKey(), item, score.getValue(), created))
+                .collect(Collectors.toList());
+    }
+
+    private void add(OpenRequest openRequest) {
+        openRequestsById.put(openRequest.id, openRequest);
+        for (String word : openRequest.words) {
+            requestIdsByWord.computeIfAbsent(word, key -> new HashSet<>()).add(openRequest.id);
+        }
+    }
+
+    private static Set<String> words(String value) {
+        var words = new HashSet<String>();
+        if (value == null) return words;
+        for (String word : WORD_SEPARATOR.split(value.toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_WORD_LENGTH) words.add(word);
+        }
+        return words;
+    }
+
+    private static ItemSuggestion toItemSuggestion(Long requestId, Item item, Integer score, LocalDateTime created) {
+        var itemRequest = new ItemRequest();
+        itemRequest.setId(requestId);
+
+        var itemSuggestion = new ItemSuggestion();
+        itemSuggestion.setRequest(itemRequest);
+        itemSuggestion.setItem(item);
+        itemSuggestion.setScore(score);
+        itemSuggestion.setCreated(created);
+        return itemSuggestion;
+    }
+
+    private static final class OpenRequest {
+        private final Long id;
+        private final Long requesterId;
+        private final Set<String> words;
+
+        private OpenRequest(Long id, Long requesterId, Set<String> words) {
+            this.id = id;
+            this.requesterId = requesterId;
+            this.words = words;
+        }
+    }
+}
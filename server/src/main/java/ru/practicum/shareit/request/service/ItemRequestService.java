@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDtoOut;
 
 import java.util.List;
 
@@ -13,4 +15,8 @@ public interface ItemRequestService {
     List<ItemRequestDtoOut> getItemRequestsByRequesterId(Long requesterId);
 
     Iterable<ItemRequestDtoOut> getItemRequestsFromOtherUsers(Long requesterId, Integer from, Integer size);
+
+    ItemRequestFeedDtoOut getItemRequestFeed(Long requesterId, String after, Integer size);
+
+    List<ItemDtoOut> getSuggestedItems(Long requesterId, Long requestId);
 }
@@ -5,22 +5,36 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.request.ItemRequestAccessException;
 import ru.practicum.shareit.exception.request.ItemRequestNotFoundByIdException;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDtoOut;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
     private final UserService userService;
+    private final ItemRequestMatcher itemRequestMatcher;
+    private final ItemSuggestionRepository itemSuggestionRepository;
 
     @Override
     public ItemRequestDtoOut saveItemRequest(Long requesterId, ItemRequestDtoIn itemRequestDto) {
@@ -28,23 +42,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         var requester = UserMapper.toUser(userService.getUserById(requesterId));
         var itemRequester = ItemRequestMapper.toItemRequest(itemRequestDto);
         itemRequester.setRequester(requester);
-        return ItemRequestMapper.toItemRequestDto(itemRequestRepository.save(itemRequester));
+        var savedItemRequest = itemRequestRepository.save(itemRequester);
+        itemRequestMatcher.index(savedItemRequest);
+        return ItemRequestMapper.toItemRequestDto(savedItemRequest);
     }
 
     @Override
     public ItemRequestDtoOut getItemRequestById(Long requesterId, Long itemRequestId) {
         log.debug("The request to getItemRequestById(requesterId={}, itemRequestId={})", requesterId, itemRequestId);
-        userService.getUserById(requesterId);
+        userService.checkUserExists(requesterId);
         var itemRequest = itemRequestRepository.findById(itemRequestId)
                 .orElseThrow(() -> new ItemRequestNotFoundByIdException(itemRequestId));
-        return ItemRequestMapper.toItemRequestDto(itemRequest);
+        return toItemRequestDtosWithItems(List.of(itemRequest)).get(0);
     }
 
     @Override
     public List<ItemRequestDtoOut> getItemRequestsByRequesterId(Long requesterId) {
         log.debug("The request to getItemRequestsByRequesterId(requesterId={})", requesterId);
-        userService.getUserById(requesterId);
-        return ItemRequestMapper.toItemRequestDtos(itemRequestRepository.findAllByRequesterId(requesterId,
+        userService.checkUserExists(requesterId);
+        return toItemRequestDtosWithItems(itemRequestRepository.findAllByRequesterId(requesterId,
                 Sort.by(Sort.Direction.DESC, "created")));
     }
 
@@ -52,8 +68,67 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDtoOut> getItemRequestsFromOtherUsers(Long requesterId, Integer from, Integer size) {
         log.debug("The request to getItemRequestsFromOtherUsers(requesterId={}, from={}, size={})", requesterId,
                 from, size);
-        userService.getUserById(requesterId);
-        return ItemRequestMapper.toItemRequestDtos(itemRequestRepository.findAllByRequesterIdNot(requesterId,
-                PageRequest.of(from, size, Sort.by("created").descending())));
+        userService.checkUserExists(requesterId);
+        return toItemRequestDtosWithItems(itemRequestRepository.findAllByRequesterIdNot(requesterId,
+                PageRequest.of(from / size, size, Sort.by("created").descending())));
+    }
+
+    /**
+     * One row more than asked for is read to find out whether there is a next page without another query.
+     */
+    @Override
+    public ItemRequestFeedDtoOut getItemRequestFeed(Long requesterId, String after, Integer size) {
+        log.debug("The request to getItemRequestFeed(requesterId={}, after={}, size={})", requesterId, after, size);
+        var cursor = after == null ? null : ItemRequestCursor.from(after);
+        userService.checkUserExists(requesterId);
+
+        var pageable = PageRequest.of(0, size + 1);
+        var itemRequests = cursor == null
+                ? itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(requesterId, pageable)
+                : itemRequestRepository.findAllByRequesterIdNotAfter(requesterId, cursor.getCreated(),
+                        cursor.getId(), pageable);
+
+        if (itemRequests.size() <= size) {
+            return new ItemRequestFeedDtoOut(toItemRequestDtosWithItems(itemRequests), null);
+        }
+        var page = itemRequests.subList(0, size);
+        var last = page.get(size - 1);
+        return new ItemRequestFeedDtoOut(toItemRequestDtosWithItems(page),
+                new ItemRequestCursor(last.getCreated(), last.getId()).toToken());
+    }
+
+    /**
+     * The suggestions are recorded by {@link ItemRequestMatcher} when the items are posted, renamed or made available
+     * again, so they are read here without searching the items.
+     */
+    @Override
+    public List<ItemDtoOut> getSuggestedItems(Long requesterId, Long itemRequestId) {
+        log.debug("The request to getSuggestedItems(requesterId={}, itemRequestId={})", requesterId, itemRequestId);
+        userService.checkUserExists(requesterId);
+        var itemRequest = itemRequestRepository.findById(itemRequestId)
+                .orElseThrow(() -> new ItemRequestNotFoundByIdException(itemRequestId));
+        if (!itemRequest.getRequester().getId().equals(requesterId)) {
+            throw new ItemRequestAccessException(
+                    "You must be the requester to see the items suggested for the request");
+        }
+        return ItemMapper.toItemDtos(itemSuggestionRepository.findAvailableItemsByRequestId(itemRequestId));
+    }
+
+    /**
+     * The items of all the requests are read in one statement, instead of one per request.
+     */
+    private List<ItemRequestDtoOut> toItemRequestDtosWithItems(List<ItemRequest> itemRequests) {
+        var itemRequestDtos = ItemRequestMapper.toItemRequestDtos(itemRequests);
+        if (itemRequestDtos.isEmpty()) return itemRequestDtos;
+        var itemRequestIds = itemRequestDtos.stream().map(ItemRequestDtoOut::getId).collect(Collectors.toList());
+
+        Map<Long, List<ItemDtoOut>> itemsByRequestId = itemRepository.findAllByRequestIdIn(itemRequestIds)
+                .stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.groupingBy(ItemDtoOut::getRequestId));
+
+        itemRequestDtos.forEach(itemRequestDto ->
+                itemRequestDto.setItems(itemsByRequestId.getOrDefault(itemRequestDto.getId(), new ArrayList<>())));
+        return itemRequestDtos;
     }
 }
@@ -1,23 +1,102 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.exception.user.UserStreamLimitExceededException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 @RestController
 @RequestMapping(path = "/users")
-@RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final int maxConcurrentStreams;
+    private final Semaphore streams;
 
-    @GetMapping
+    public UserController(UserService userService, ObjectMapper objectMapper,
+                          @Value("${shareit.user.stream.max-concurrent:4}") int maxConcurrentStreams) {
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.streams = new Semaphore(maxConcurrentStreams);
+    }
+
+    /**
+     * Returns every user, ordered by id, as it always has. Large tables are better read page by page (pass
+     * {@code afterId} or {@code size}) or from {@code /users/stream}.
+     */
+    @GetMapping(params = {"!afterId", "!size"})
     public List<UserDto> getAllUsers() {
         return userService.getAllUsers();
     }
 
+    /**
+     * Returns at most {@code size} users with ids greater than {@code afterId}, ordered by id. A full page carries
+     * a {@code Link} header with {@code rel="next"} pointing at the page after it; the last page has none.
+     */
+    @GetMapping
+    public ResponseEntity<List<UserDto>> getUsersPage(
+            @RequestParam(defaultValue = "0", required = false) Long afterId,
+            @RequestParam(defaultValue = "1000", required = false) Integer size) {
+        var users = userService.getAllUsers(afterId, size);
+        var response = ResponseEntity.ok();
+        if (!users.isEmpty() && users.size() == size) {
+            var next = UriComponentsBuilder.fromPath("/users")
+                    .queryParam("afterId", users.get(users.size() - 1).getId())
+                    .queryParam("size", size)
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(users);
+    }
+
+    /**
+     * Writes every user as one line of JSON while reading them from the database, so neither the users nor the
+     * response are ever held in memory as a whole.
+     * <p>
+     * Each stream holds a database connection until the client has read the last line, so at most
+     * {@code shareit.user.stream.max-concurrent} streams run at once and further ones are refused with
+     * {@code 503 Service Unavailable} rather than draining the connection pool. Async requests have no timeout
+     * ({@code spring.mvc.async.request-timeout=-1}), so a stream is never cut off however large the table is.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        if (!streams.tryAcquire()) {
+            throw new UserStreamLimitExceededException(maxConcurrentStreams);
+        }
+        var writer = objectMapper.writerFor(UserDto.class);
+        StreamingResponseBody body = out -> {
+            try {
+                userService.forEachUser(userDto -> {
+                    try {
+                        out.write(writer.writeValueAsBytes(userDto));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                streams.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{userId}")
     public UserDto getUser(@PathVariable Long userId) {
         return userService.getUserById(userId);
@@ -1,10 +1,45 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    int STREAM_FETCH_SIZE = 500;
+
     Optional<User> findByEmail(String email);
+
+    /**
+     * Only positive answers are cached, so a user created after a miss is seen right away.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS_CACHE, unless = "!#result")
+    boolean existsById(Long userId);
+
+    /**
+     * Keyset pagination: the page starts right after {@code afterId}, so it is read from the primary key index
+     * however deep it is. Only the page size of {@code pageable} is used.
+     */
+    List<User> findAllByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Reads all the users through a server-side cursor, {@value #STREAM_FETCH_SIZE} rows per round trip. The rows
+     * are read straight into DTOs, so they are not kept in the persistence context either. Has to be consumed
+     * inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("select new ru.practicum.shareit.user.dto.UserDto(u.id, u.name, u.email) from User u order by u.id")
+    Stream<UserDto> streamAllUserDtos();
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user.service;
+
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * A user as it is kept in the {@code users} cache. It is immutable, so the cached entry cannot be changed through
+ * the {@link UserDto} a caller gets from it.
+ */
+public record CachedUser(Long id, String name, String email) {
+    public static CachedUser of(User user) {
+        return new CachedUser(user.getId(), user.getName(), user.getEmail());
+    }
+
+    public UserDto toUserDto() {
+        return new UserDto(id, name, email);
+    }
+}
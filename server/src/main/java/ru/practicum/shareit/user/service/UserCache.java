@@ -0,0 +1,32 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.user.UserNotFoundByIdException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * The {@code users} cache. A missing user is loaded while its entry is locked, so a {@link #put(User)} for the
+ * same user waits for the load to finish and then replaces whatever the load read.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+    private final UserRepository userRepository;
+
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, sync = true)
+    public CachedUser get(Long userId) {
+        return userRepository.findById(userId)
+                .map(CachedUser::of)
+                .orElseThrow(() -> new UserNotFoundByIdException(userId));
+    }
+
+    @CachePut(cacheNames = CacheConfig.USERS_CACHE, key = "#user.id")
+    public CachedUser put(User user) {
+        return CachedUser.of(user);
+    }
+}
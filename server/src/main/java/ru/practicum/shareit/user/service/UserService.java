@@ -3,12 +3,19 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto getUserById(Long userId);
 
+    void checkUserExists(Long userId);
+
     List<UserDto> getAllUsers();
 
+    List<UserDto> getAllUsers(Long afterId, Integer size);
+
+    void forEachUser(Consumer<UserDto> action);
+
     UserDto saveUser(UserDto userDto);
 
     UserDto updateUser(Long userId, UserDto userDto);
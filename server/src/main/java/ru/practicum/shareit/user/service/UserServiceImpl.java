@@ -2,7 +2,14 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.exception.user.UserNotFoundByIdException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
@@ -10,23 +17,53 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDto getUserById(Long userId) {
         log.debug("The request to getUserById(userId={})", userId);
-        return UserMapper.toUserDto(findByIdOrElseThrow(userId));
+        return userCache.get(userId).toUserDto();
     }
 
     @Override
+    public void checkUserExists(Long userId) {
+        log.debug("The request to checkUserExists(userId={})", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundByIdException(userId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAllUsers() {
         log.debug("The request to getAllUsers()");
-        return UserMapper.toUserDtos(userRepository.findAll());
+        try (var users = userRepository.streamAllUserDtos()) {
+            return users.collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public List<UserDto> getAllUsers(Long afterId, Integer size) {
+        log.debug("The request to getAllUsers(afterId={}, size={})", afterId, size);
+        return UserMapper.toUserDtos(userRepository.findAllByIdGreaterThanOrderByIdAsc(afterId,
+                PageRequest.of(0, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<UserDto> action) {
+        log.debug("The request to forEachUser()");
+        try (var users = userRepository.streamAllUserDtos()) {
+            users.forEach(action);
+        }
     }
 
     @Override
@@ -35,7 +72,12 @@ public class UserServiceImpl implements UserService {
         return UserMapper.toUserDto(userRepository.save(UserMapper.toUser(userDto)));
     }
 
+    /**
+     * The cached user is replaced only once the update has committed, so a concurrent read cannot cache the old
+     * row after it.
+     */
     @Override
+    @Transactional
     public UserDto updateUser(Long userId, UserDto userDto) {
         log.debug("The request to updateUser(userId={}, userDto={})", userId, userDto);
         User user = findByIdOrElseThrow(userId);
@@ -46,16 +88,38 @@ public class UserServiceImpl implements UserService {
         String name = userDto.getName();
         if (name == null || name.isBlank()) userDto.setName(user.getName());
 
-        return UserMapper.toUserDto(userRepository.save((UserMapper.toUser(userDto))));
+        var savedUser = userRepository.save(UserMapper.toUser(userDto));
+        afterCommit(() -> userCache.put(savedUser));
+        return UserMapper.toUserDto(savedUser);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = CacheConfig.USER_EXISTS_CACHE, key = "#userId")
+    })
     public void deleteUser(Long userId) {
         log.debug("The request to deleteUser(userId={})", userId);
         findByIdOrElseThrow(userId);
         userRepository.deleteById(userId);
     }
 
+    /**
+     * Runs the action once the current transaction commits, or right away without one. Nothing runs on rollback.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     private User findByIdOrElseThrow(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundByIdException(userId));
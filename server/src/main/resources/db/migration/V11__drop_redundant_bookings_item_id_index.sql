@@ -0,0 +1 @@
+DROP INDEX IF EXISTS idx_bookings_item_id_start_date_end_date;
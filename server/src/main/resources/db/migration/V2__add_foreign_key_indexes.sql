@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_items_owner_id_id ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item_id_created ON comments (item_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_id_created ON requests (requester_id, created DESC);
@@ -0,0 +1,13 @@
+CREATE SEQUENCE IF NOT EXISTS item_suggestions_id_seq INCREMENT BY 20;
+
+CREATE TABLE IF NOT EXISTS item_suggestions
+(
+    id         bigint PRIMARY KEY,
+    request_id bigint                      NOT NULL REFERENCES requests (id) ON DELETE CASCADE,
+    item_id    bigint                      NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    score      integer                     NOT NULL,
+    created    timestamp without time zone NOT NULL,
+    CONSTRAINT uq_item_suggestions_request_id_item_id UNIQUE (request_id, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_suggestions_request_id_score ON item_suggestions (request_id, score DESC);
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date_end_date ON bookings (item_id, start_date, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date_id ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date_id ON bookings (item_id, start_date DESC, id DESC);
@@ -0,0 +1,56 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * A database created from the {@code schema.sql} used before Flyway is baselined at version 1 on its first
+ * migration, so V1 never runs on it and every index added since has to come from V2 and above.
+ */
+public class FlywayBaselineTest {
+    private static final String FRESH_URL = "jdbc:h2:mem:fresh;DB_CLOSE_DELAY=-1";
+    private static final String BASELINED_URL = "jdbc:h2:mem:baselined;DB_CLOSE_DELAY=-1";
+
+    @Test
+    void baselinedDatabaseGetsTheSameIndexesAsFreshDatabase() throws SQLException {
+        migrate(FRESH_URL);
+
+        try (var connection = DriverManager.getConnection(BASELINED_URL, "test", "test");
+             var statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/pre-flyway-schema.sql'");
+        }
+        migrate(BASELINED_URL);
+
+        assertThat(indexNames(BASELINED_URL), is(indexNames(FRESH_URL)));
+    }
+
+    private static void migrate(String url) {
+        Flyway.configure()
+                .dataSource(url, "test", "test")
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    private static Set<String> indexNames(String url) throws SQLException {
+        var indexNames = new TreeSet<String>();
+        try (var connection = DriverManager.getConnection(url, "test", "test");
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES "
+                     + "WHERE LOWER(INDEX_NAME) LIKE 'idx\\_%'")) {
+            while (resultSet.next()) {
+                indexNames.add(resultSet.getString(1));
+            }
+        }
+        return indexNames;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A PostgreSQL server shared by the tests that need PostgreSQL itself rather than H2: the migrations under
+ * {@code db/vendor/postgresql} run only there, and H2 indexes every foreign key on its own, which hides missing
+ * indexes.
+ * <p>
+ * The server given by {@code SHAREIT_TEST_POSTGRES_URL}, {@code SHAREIT_TEST_POSTGRES_USER} and
+ * {@code SHAREIT_TEST_POSTGRES_PASSWORD} is used if there is one, as in CI. Otherwise an embedded server is started
+ * on first use and stopped when the JVM exits. PostgreSQL refuses to run as root, so without an external server
+ * these tests are disabled for root.
+ */
+public final class PostgresTestDatabase {
+    private static final String EXTERNAL_URL = System.getenv("SHAREIT_TEST_POSTGRES_URL");
+
+    private static EmbeddedPostgres postgres;
+
+    private PostgresTestDatabase() {
+    }
+
+    /**
+     * The condition of {@code @DisabledIf} on the tests that use this database.
+     */
+    public static boolean isUnavailable() {
+        return EXTERNAL_URL == null && "root".equals(System.getProperty("user.name"));
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", () -> System.getenv("SHAREIT_TEST_POSTGRES_USER"));
+            registry.add("spring.datasource.password", () -> System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD"));
+        } else {
+            var jdbcUrl = start().getJdbcUrl("postgres", "postgres");
+            registry.add("spring.datasource.url", () -> jdbcUrl);
+            registry.add("spring.datasource.username", () -> "postgres");
+            registry.add("spring.datasource.password", () -> "postgres");
+        }
+        registry.add("spring.datasource.hikari.minimum-idle", () -> 1);
+    }
+
+    private static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // the data directory is temporary either way
+                }
+            }));
+        }
+        return postgres;
+    }
+}
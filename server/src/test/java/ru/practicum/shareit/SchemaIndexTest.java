@@ -0,0 +1,97 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Runs on PostgreSQL, which, unlike H2, does not index foreign keys on its own, with sequential scans disabled:
+ * each hot query must be planned with the index added for it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisabledIf("ru.practicum.shareit.PostgresTestDatabase#isUnavailable")
+public class SchemaIndexTest {
+    @Autowired
+    private TestEntityManager tem;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    private static Stream<Arguments> hotQueryProvider() {
+        return Stream.of(
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC, id DESC",
+                        "idx_bookings_booker_id_start_date_id"),
+                Arguments.of("SELECT * FROM bookings WHERE item_id = 1 "
+                                + "AND start_date < TIMESTAMP '2030-01-02 00:00:00' "
+                                + "AND end_date > TIMESTAMP '2030-01-01 00:00:00'",
+                        "idx_bookings_item_id_start_date_id"),
+                Arguments.of("SELECT * FROM bookings WHERE item_id = 1 "
+                                + "AND end_date < TIMESTAMP '2030-01-01 00:00:00' ORDER BY start_date DESC LIMIT 1",
+                        "idx_bookings_item_id_start_date_id"),
+                Arguments.of("SELECT * FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = 1 "
+                                + "ORDER BY b.start_date DESC, b.id DESC",
+                        "idx_bookings_item_id_start_date_id"),
+                Arguments.of("SELECT * FROM bookings WHERE booker_id = 1 AND item_id = 1 "
+                                + "AND end_date < TIMESTAMP '2030-01-01 00:00:00'",
+                        "idx_bookings_booker_id_item_id_end_date"),
+                Arguments.of("SELECT * FROM items WHERE owner_id = 1 ORDER BY id",
+                        "idx_items_owner_id_id"),
+                Arguments.of("SELECT * FROM items WHERE request_id = 1",
+                        "idx_items_request_id"),
+                Arguments.of("SELECT * FROM comments WHERE item_id IN (1, 2) ORDER BY created",
+                        "idx_comments_item_id_created"),
+                Arguments.of("SELECT * FROM requests WHERE requester_id = 1 ORDER BY created DESC",
+                        "idx_requests_requester_id_created"),
+                Arguments.of("SELECT * FROM requests WHERE requester_id <> 1 "
+                                + "AND created < TIMESTAMP '2030-01-01 00:00:00' ORDER BY created DESC, id DESC",
+                        "idx_requests_created_id"),
+                Arguments.of("SELECT * FROM item_suggestions WHERE request_id = 1 ORDER BY score DESC",
+                        "idx_item_suggestions_request_id_score"),
+                Arguments.of("SELECT * FROM items WHERE is_available = true "
+                                + "AND search_vector @@ plainto_tsquery('simple', 'drill')",
+                        "idx_items_available_search_vector"),
+                Arguments.of("SELECT * FROM items WHERE is_available = true AND lower(name) LIKE '%drill%'",
+                        "idx_items_available_name_trgm"),
+                Arguments.of("SELECT * FROM items WHERE is_available = true AND lower(description) LIKE '%drill%'",
+                        "idx_items_available_description_trgm")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("hotQueryProvider")
+    @SuppressWarnings("unchecked")
+    void hotQueryUsesIndex(String query, String indexName) {
+        var entityManager = tem.getEntityManager();
+        var indexCount = ((Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM pg_indexes WHERE indexname = ?1")
+                .setParameter(1, indexName)
+                .getSingleResult()).intValue();
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        var plan = ((List<Object>) entityManager
+                .createNativeQuery("EXPLAIN " + query)
+                .getResultList()).stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n"));
+
+        assertThat(indexCount, is(1));
+        assertThat(plan, containsString(indexName));
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDtoIn;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Entities inserted in the current transaction never reach the second-level cache, so every repository call here
+ * commits on its own instead of running inside a rolled back test transaction.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemRequestMatcher.class, UserServiceImpl.class, UserCache.class})
+public class SecondLevelCacheTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemServiceImpl itemService;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User owner;
+    private Item item;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("OwnerName");
+        owner.setEmail("owner@mail.com");
+        owner = userRepository.save(owner);
+
+        item = createItem("ItemName");
+
+        var sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findUserTwiceReadsSecondTimeFromCache() {
+        userRepository.findById(owner.getId());
+        var user = userRepository.findById(owner.getId()).orElseThrow();
+
+        assertThat(user.getName(), is(owner.getName()));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), is(1L));
+    }
+
+    @Test
+    void updateUserRefreshesCachedUser() {
+        userRepository.findById(owner.getId());
+
+        var userDto = new UserDto();
+        userDto.setName("UpdatedName");
+        userService.updateUser(owner.getId(), userDto);
+
+        assertThat(userRepository.findById(owner.getId()).orElseThrow().getName(), is("UpdatedName"));
+    }
+
+    @Test
+    void updateItemRefreshesCachedItem() {
+        itemRepository.findById(item.getId());
+
+        var itemDtoIn = new ItemDtoIn();
+        itemDtoIn.setName("UpdatedName");
+        itemService.updateItem(itemDtoIn, item.getId(), owner.getId());
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getName(), is("UpdatedName"));
+    }
+
+    @Test
+    void findAllByOwnerIdUsesQueryCacheUntilItemsChange() {
+        var pageable = PageRequest.of(0, 10);
+        itemRepository.findAllByOwnerId(owner.getId(), pageable);
+        var items = itemRepository.findAllByOwnerId(owner.getId(), pageable);
+
+        assertThat(items.size(), is(1));
+        assertThat(statistics.getQueryCacheHitCount(), is(1L));
+        assertThat(statistics.getPrepareStatementCount(), is(1L));
+
+        createItem("OtherItemName");
+
+        assertThat(itemRepository.findAllByOwnerId(owner.getId(), pageable).size(), is(2));
+    }
+
+    private Item createItem(String name) {
+        var newItem = new Item();
+        newItem.setName(name);
+        newItem.setDescription("ItemDescription");
+        newItem.setAvailable(true);
+        newItem.setOwner(owner);
+        return itemRepository.save(newItem);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit.virtual-threads.enabled=true")
+public class VirtualThreadsConfigTest {
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Test
+    void tomcatRunsRequestsOnVirtualThreads() throws Exception {
+        var executor = (ExecutorService) ((TomcatWebServer) context.getWebServer()).getTomcat()
+                .getConnector()
+                .getProtocolHandler()
+                .getExecutor();
+
+        var isVirtual = CompletableFuture.supplyAsync(() -> Thread.currentThread().isVirtual(), executor).get();
+
+        assertThat(isVirtual, is(true));
+    }
+}
@@ -17,7 +17,6 @@ import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
-import ru.practicum.shareit.item.model.Item;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -51,12 +50,9 @@ class BookingControllerTest {
 
     @BeforeEach
     void setUp() {
-        var item = new Item();
-        item.setId(ITEM_ID);
-
         bookingDtoOut = new BookingDtoOut();
         bookingDtoOut.setId(BOOKING_ID);
-        bookingDtoOut.setItem(item);
+        bookingDtoOut.setItem(new BookingDtoOut.ItemDto(ITEM_ID, "ItemName"));
         bookingDtoOut.setStatus(BookingStatus.WAITING);
     }
 
@@ -123,6 +119,44 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", is(bookingDtoOut.getStatus().name()), String.class));
     }
 
+    @Test
+    @DisplayName("successfullyGetBookingsByBookerIdAfterCursor [200]")
+    void getAllBookingsByBookerIdAfterCursor() throws Exception {
+        var after = NOW + ",5";
+        Mockito.when(bookingService.getBookingsByBookerIdAfter(USER_ID_HEADER_VALUE, "ALL", after, 10))
+                .thenReturn(List.of(bookingDtoOut));
+
+        mvc.perform(get("/bookings")
+                        .param("state", "ALL")
+                        .param("after", after)
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(bookingDtoOut.getId()), Long.class));
+
+        Mockito.verify(bookingService, Mockito.never())
+                .getBookingsByBookerId(Mockito.anyLong(), Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("successfullyGetBookingsByItemsOwnerIdAfterCursor [200]")
+    void getAllBookingsByItemsOwnerIdAfterCursor() throws Exception {
+        var after = NOW + ",5";
+        Mockito.when(bookingService.getBookingsByItemOwnerIdAfter(USER_ID_HEADER_VALUE, "FUTURE", after, 2))
+                .thenReturn(List.of(bookingDtoOut));
+
+        mvc.perform(get("/bookings/owner")
+                        .param("state", "FUTURE")
+                        .param("after", after)
+                        .param("size", "2")
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(bookingDtoOut.getId()), Long.class));
+    }
+
     @Test
     @DisplayName("successfullySaveBooking [200]")
     void saveBooking() throws Exception {
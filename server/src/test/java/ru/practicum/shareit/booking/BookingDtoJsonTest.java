@@ -7,8 +7,6 @@ import org.springframework.boot.test.json.JacksonTester;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.model.BookingStatus;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
@@ -49,8 +47,8 @@ public class BookingDtoJsonTest {
         var bookingDtoOut = new BookingDtoOut();
         bookingDtoOut.setId(1L);
         bookingDtoOut.setStatus(BookingStatus.WAITING);
-        bookingDtoOut.setItem(new Item());
-        bookingDtoOut.setBooker(new User());
+        bookingDtoOut.setItem(new BookingDtoOut.ItemDto(1L, "ItemName"));
+        bookingDtoOut.setBooker(new BookingDtoOut.BookerDto(2L));
         bookingDtoOut.setStart(NOW);
         bookingDtoOut.setEnd(NOW.plusMinutes(1));
 
@@ -61,8 +59,9 @@ public class BookingDtoJsonTest {
                 .isEqualTo(NOW.format(DATE_TIME_FORMATTER_WITH_SECONDS));
         assertThat(result).extractingJsonPathStringValue("$.end").isEqualTo(NOW.plusMinutes(1)
                 .format(DATE_TIME_FORMATTER_WITH_SECONDS));
-        assertThat(result).extractingJsonPathValue("$.item", Item.class).isNotNull();
-        assertThat(result).extractingJsonPathValue("$.booker", User.class).isNotNull();
+        assertThat(result).extractingJsonPathNumberValue("$.item.id").isEqualTo(1);
+        assertThat(result).extractingJsonPathStringValue("$.item.name").isEqualTo("ItemName");
+        assertThat(result).extractingJsonPathNumberValue("$.booker.id").isEqualTo(2);
         assertThat(result).extractingJsonPathStringValue("$.status").isEqualTo("WAITING");
     }
 }
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BookingQueryRepositoryStatementCountTest {
+    private static final int BOOKINGS_COUNT = 10;
+    private static final long FIND_BOOKINGS_STATEMENT_COUNT = 1;
+
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        booker = new User();
+        booker.setName("BookerName");
+        booker.setEmail("booker@mail.com");
+        tem.persist(booker);
+
+        var now = LocalDateTime.now();
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            var owner = new User();
+            owner.setName("OwnerName" + i);
+            owner.setEmail("owner" + i + "@mail.com");
+            tem.persist(owner);
+
+            var item = new Item();
+            item.setName("ItemName" + i);
+            item.setDescription("ItemDescription" + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            tem.persist(item);
+
+            var booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setStart(now.minusDays(i + 2));
+            booking.setEnd(now.minusDays(i + 1));
+            tem.persist(booking);
+        }
+        tem.flush();
+        tem.clear();
+
+        statistics = tem.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void findBookingsIssuesSingleStatement(BookingState state) {
+        bookingRepository.findBookings(BookingFilter.byBooker(booker.getId(), state),
+                PageRequest.of(0, BOOKINGS_COUNT));
+
+        assertThat(statistics.getPrepareStatementCount(), is(FIND_BOOKINGS_STATEMENT_COUNT));
+    }
+
+    @Test
+    void findBookingsIssuesFewerStatementsThanPlainJpql() {
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(booker.getId(), BookingState.PAST),
+                PageRequest.of(0, BOOKINGS_COUNT));
+        var criteriaStatementCount = statistics.getPrepareStatementCount();
+
+        tem.clear();
+        statistics.clear();
+
+        var legacyBookings = tem.getEntityManager()
+                .createQuery("select b from Booking b where b.booker.id = :bookerId and b.end < :now "
+                        + "order by b.start desc", Booking.class)
+                .setParameter("bookerId", booker.getId())
+                .setParameter("now", LocalDateTime.now())
+                .setMaxResults(BOOKINGS_COUNT)
+                .getResultList();
+        var legacyBookingDtos = legacyBookings.stream()
+                .map(BookingMapper::toBookingDto)
+                .collect(Collectors.toList());
+
+        assertThat(legacyBookingDtos, is(bookings));
+        assertThat(statistics.getPrepareStatementCount(), greaterThan(criteriaStatementCount));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.PostgresTestDatabase;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Checks {@code excl_bookings_item_id_period} from {@code db/vendor/postgresql}, which only exists on PostgreSQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisabledIf("ru.practicum.shareit.PostgresTestDatabase#isUnavailable")
+public class BookingRepositoryPostgresTest {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Item item;
+    private User booker;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        var owner = tem.persist(createUser("owner"));
+        booker = tem.persist(createUser("booker"));
+
+        item = new Item();
+        item.setName("Drill");
+        item.setDescription("Cordless drill");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        tem.persist(item);
+
+        bookingRepository.saveAndFlush(createBooking(START, START.plusDays(2), BookingStatus.APPROVED));
+    }
+
+    @Test
+    void overlappingWaitingBookingIsRejected() {
+        var overlapping = createBooking(START.plusDays(1), START.plusDays(3), BookingStatus.WAITING);
+
+        var e = Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.saveAndFlush(overlapping));
+
+        var cause = NestedExceptionUtils.getMostSpecificCause(e);
+        assertThat(cause instanceof SQLException, is(true));
+        assertThat(((SQLException) cause).getSQLState(), is(EXCLUSION_VIOLATION_SQL_STATE));
+    }
+
+    @Test
+    void overlappingRejectedBookingIsSaved() {
+        var overlapping = createBooking(START.plusDays(1), START.plusDays(3), BookingStatus.REJECTED);
+
+        assertThat(bookingRepository.saveAndFlush(overlapping).getId(), notNullValue());
+    }
+
+    @Test
+    void adjacentBookingIsSaved() {
+        var adjacent = createBooking(START.plusDays(2), START.plusDays(4), BookingStatus.WAITING);
+
+        assertThat(bookingRepository.saveAndFlush(adjacent).getId(), notNullValue());
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        var booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static User createUser(String name) {
+        var user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
@@ -9,13 +9,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingItemView;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -23,6 +35,10 @@ import static org.hamcrest.Matchers.is;
 
 @DataJpaTest
 public class BookingRepositoryTest {
+    private static final LocalDateTime EXISTING_BOOKING_START =
+            LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    private static final LocalDateTime EXISTING_BOOKING_END = EXISTING_BOOKING_START.plusDays(2);
+
     @Autowired
     private TestEntityManager tem;
     @Autowired
@@ -61,7 +77,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findCurrentBookingsByBookerId(userDB.getId(), Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), BookingState.CURRENT),
+                Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -76,7 +93,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findPastBookingsByBookerId(userDB.getId(), Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), BookingState.PAST),
+                Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -91,7 +109,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findPastBookingsByBookerId(userDB.getId(), Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), BookingState.PAST),
+                Pageable.unpaged());
         assertThat(bookings.size(), is(0));
     }
 
@@ -106,7 +125,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findFutureBookingsByBookerId(userDB.getId(), Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), BookingState.FUTURE),
+                Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -119,30 +139,33 @@ public class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().minusDays(2));
         booking.setEnd(LocalDateTime.now().minusDays(1));
 
-        var bookings = bookingRepository.findFutureBookingsByBookerId(userDB.getId(), Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), BookingState.FUTURE),
+                Pageable.unpaged());
         assertThat(bookings.size(), is(0));
     }
 
     private static Stream<Arguments> findAllByBookerIdAndStatusProvider() {
         return Stream.of(
-                Arguments.of(BookingStatus.APPROVED, 1),
-                Arguments.of(BookingStatus.WAITING, 0)
+                Arguments.of(BookingStatus.WAITING, BookingState.WAITING, 1),
+                Arguments.of(BookingStatus.REJECTED, BookingState.REJECTED, 1),
+                Arguments.of(BookingStatus.APPROVED, BookingState.WAITING, 0),
+                Arguments.of(BookingStatus.APPROVED, BookingState.ALL, 1)
         );
     }
 
     @ParameterizedTest
     @MethodSource("findAllByBookerIdAndStatusProvider")
-    void findAllByBookerIdAndStatus(BookingStatus bookingStatus, int bookingCount) {
+    void findAllByBookerIdAndStatus(BookingStatus bookingStatus, BookingState bookingState, int bookingCount) {
         var booking = new Booking();
         booking.setBooker(userDB);
         booking.setItem(itemDB);
-        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStatus(bookingStatus);
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now());
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findAllByBookerIdAndStatus(userDB.getId(), bookingStatus,
+        var bookings = bookingRepository.findBookings(BookingFilter.byBooker(userDB.getId(), bookingState),
                 Pageable.unpaged());
         assertThat(bookings.size(), is(bookingCount));
     }
@@ -158,8 +181,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findCurrentBookingsByItemOwnerId(itemDB.getOwner().getId(),
-                Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), BookingState.CURRENT), Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -174,8 +197,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findPastBookingsByItemOwnerId(itemDB.getOwner().getId(),
-                Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), BookingState.PAST), Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -188,8 +211,8 @@ public class BookingRepositoryTest {
         booking.setStart(LocalDateTime.now().plusDays(1));
         booking.setEnd(LocalDateTime.now().plusDays(2));
 
-        var bookings = bookingRepository.findPastBookingsByItemOwnerId(itemDB.getOwner().getId(),
-                Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), BookingState.PAST), Pageable.unpaged());
         assertThat(bookings.size(), is(0));
     }
 
@@ -204,8 +227,8 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findFutureBookingsByItemOwnerId(itemDB.getOwner().getId(),
-                Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), BookingState.FUTURE), Pageable.unpaged());
         assertThat(bookings.size(), is(1));
     }
 
@@ -220,32 +243,34 @@ public class BookingRepositoryTest {
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findFutureBookingsByItemOwnerId(itemDB.getOwner().getId(),
-                Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), BookingState.FUTURE), Pageable.unpaged());
         assertThat(bookings.size(), is(0));
     }
 
     private static Stream<Arguments> findAllByItemOwnerIdAndStatusProvider() {
         return Stream.of(
-                Arguments.of(BookingStatus.APPROVED, 1),
-                Arguments.of(BookingStatus.WAITING, 0)
+                Arguments.of(BookingStatus.WAITING, BookingState.WAITING, 1),
+                Arguments.of(BookingStatus.REJECTED, BookingState.REJECTED, 1),
+                Arguments.of(BookingStatus.APPROVED, BookingState.WAITING, 0),
+                Arguments.of(BookingStatus.APPROVED, BookingState.ALL, 1)
         );
     }
 
     @ParameterizedTest
     @MethodSource("findAllByItemOwnerIdAndStatusProvider")
-    void findAllByItemOwnerIdAndStatus(BookingStatus bookingStatus, int bookingCount) {
+    void findAllByItemOwnerIdAndStatus(BookingStatus bookingStatus, BookingState bookingState, int bookingCount) {
         var booking = new Booking();
         booking.setBooker(userDB);
         booking.setItem(itemDB);
-        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStatus(bookingStatus);
         booking.setStart(LocalDateTime.now());
         booking.setEnd(LocalDateTime.now());
 
         tem.persist(booking);
 
-        var bookings = bookingRepository.findAllByItemOwnerIdAndStatus(itemDB.getOwner().getId(),
-                bookingStatus, Pageable.unpaged());
+        var bookings = bookingRepository.findBookings(
+                BookingFilter.byItemOwner(itemDB.getOwner().getId(), bookingState), Pageable.unpaged());
         assertThat(bookings.size(), is(bookingCount));
     }
 
@@ -295,27 +320,171 @@ public class BookingRepositoryTest {
         assertThat(maybeBooking.isPresent(), is(exist));
     }
 
-    private static Stream<Arguments> findLastFinishedBookingByBookerIdAndItemIdProvider() {
+    private static Stream<Arguments> existsFinishedBookingProvider() {
         return Stream.of(
-                Arguments.of(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), true),
-                Arguments.of(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), false)
+                Arguments.of(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                        BookingStatus.APPROVED, true),
+                Arguments.of(LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                        BookingStatus.REJECTED, false),
+                Arguments.of(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
+                        BookingStatus.APPROVED, false),
+                Arguments.of(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                        BookingStatus.APPROVED, false)
         );
     }
 
     @ParameterizedTest
-    @MethodSource("findLastFinishedBookingByBookerIdAndItemIdProvider")
-    void findLastFinishedBookingByBookerIdAndItemId(LocalDateTime start, LocalDateTime end, boolean exist) {
+    @MethodSource("existsFinishedBookingProvider")
+    void existsByBookerIdAndItemIdAndStatusAndEndBefore(LocalDateTime start, LocalDateTime end,
+                                                        BookingStatus status, boolean exist) {
         var booking = new Booking();
         booking.setBooker(userDB);
         booking.setItem(itemDB);
-        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStatus(status);
         booking.setStart(start);
         booking.setEnd(end);
 
         tem.persist(booking);
 
-        var maybeBooking = bookingRepository.findLastFinishedBookingByBookerIdAndItemId(
-                userDB.getId(), itemDB.getId());
-        assertThat(maybeBooking.isPresent(), is(exist));
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                userDB.getId(), itemDB.getId(), BookingStatus.APPROVED, LocalDateTime.now()), is(exist));
+    }
+
+    @Test
+    void existsByBookerIdAndItemIdAndStatusAndEndBeforeIgnoresOtherItems() {
+        var otherItem = new Item();
+        otherItem.setName("otherItemBD");
+        otherItem.setDescription("otherItemBD");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(userDB);
+        var otherItemDB = tem.persist(otherItem);
+
+        tem.persist(createBooking(otherItemDB, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1)));
+
+        assertThat(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(
+                userDB.getId(), itemDB.getId(), BookingStatus.APPROVED, LocalDateTime.now()), is(false));
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds() {
+        var otherItem = new Item();
+        otherItem.setName("otherItemBD");
+        otherItem.setDescription("otherItemBD");
+        otherItem.setAvailable(true);
+        otherItem.setOwner(userDB);
+        var otherItemDB = tem.persist(otherItem);
+
+        var oldPastBooking = tem.persist(createBooking(itemDB, LocalDateTime.now().minusDays(4),
+                LocalDateTime.now().minusDays(3)));
+        var lastBooking = tem.persist(createBooking(itemDB, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+        var nextBooking = tem.persist(createBooking(itemDB,
+                LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS), LocalDateTime.now().plusDays(2)));
+        var otherItemLastBooking = tem.persist(createBooking(otherItemDB, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1)));
+
+        var bookings = bookingRepository.findLastAndNextBookingsByItemIds(
+                List.of(itemDB.getId(), otherItemDB.getId()));
+
+        assertThat(bookings.size(), is(3));
+        assertThat(bookings.stream().noneMatch(b -> b.getId().equals(oldPastBooking.getId())), is(true));
+
+        var bookingsById = bookings.stream()
+                .collect(Collectors.toMap(BookingItemView::getId, Function.identity()));
+        assertThat(bookingsById.get(lastBooking.getId()).getLastBooking(), is(true));
+        assertThat(bookingsById.get(lastBooking.getId()).getItemId(), is(itemDB.getId()));
+        assertThat(bookingsById.get(lastBooking.getId()).getBookerId(), is(userDB.getId()));
+        assertThat(bookingsById.get(nextBooking.getId()).getLastBooking(), is(false));
+        assertThat(bookingsById.get(nextBooking.getId()).getStartDate(), is(nextBooking.getStart()));
+        assertThat(bookingsById.get(otherItemLastBooking.getId()).getItemId(), is(otherItemDB.getId()));
+    }
+
+    private static Stream<Arguments> existsOverlappingBookingProvider() {
+        var start = EXISTING_BOOKING_START;
+        var end = EXISTING_BOOKING_END;
+        return Stream.of(
+                Arguments.of(start, end, BookingStatus.APPROVED, true),
+                Arguments.of(start.minusDays(1), start.plusHours(1), BookingStatus.WAITING, true),
+                Arguments.of(start.plusHours(1), end.minusHours(1), BookingStatus.APPROVED, true),
+                Arguments.of(start.minusDays(1), start, BookingStatus.APPROVED, false),
+                Arguments.of(end, end.plusDays(1), BookingStatus.APPROVED, false),
+                Arguments.of(start, end, BookingStatus.REJECTED, false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("existsOverlappingBookingProvider")
+    void existsOverlappingBooking(LocalDateTime start, LocalDateTime end, BookingStatus existingBookingStatus,
+                                  boolean overlapping) {
+        var existingBooking = createBooking(itemDB, EXISTING_BOOKING_START, EXISTING_BOOKING_END);
+        existingBooking.setStatus(existingBookingStatus);
+        tem.persist(existingBooking);
+
+        var exists = bookingRepository.existsOverlappingBooking(itemDB.getId(), start, end,
+                EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED));
+        assertThat(exists, is(overlapping));
+    }
+
+    @Test
+    void findBookerBookingsAfter() {
+        var start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        var first = tem.persist(createBooking(itemDB, start.plusDays(2), start.plusDays(3)));
+        var second = tem.persist(createBooking(itemDB, start.plusDays(1), start.plusDays(2)));
+        var third = tem.persist(createBooking(itemDB, start.plusDays(1), start.plusDays(2)));
+        var fourth = tem.persist(createBooking(itemDB, start, start.plusDays(1)));
+
+        var filter = BookingFilter.byBooker(userDB.getId(), BookingState.FUTURE);
+        var firstPage = bookingRepository.findBookingsAfter(filter,
+                new BookingCursor(LocalDateTime.now().plusYears(100), Long.MAX_VALUE), 2);
+        assertThat(firstPage, is(toBookingDtos(first, third)));
+
+        var secondPage = bookingRepository.findBookingsAfter(filter,
+                new BookingCursor(third.getStart(), third.getId()), 2);
+        assertThat(secondPage, is(toBookingDtos(second, fourth)));
+
+        var thirdPage = bookingRepository.findBookingsAfter(filter,
+                new BookingCursor(fourth.getStart(), fourth.getId()), 2);
+        assertThat(thirdPage.size(), is(0));
+    }
+
+    private static Stream<Arguments> findItemOwnerBookingsAfterProvider() {
+        return Stream.of(
+                Arguments.of(BookingState.ALL, 3),
+                Arguments.of(BookingState.CURRENT, 1),
+                Arguments.of(BookingState.PAST, 1),
+                Arguments.of(BookingState.FUTURE, 1),
+                Arguments.of(BookingState.WAITING, 1),
+                Arguments.of(BookingState.REJECTED, 0)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("findItemOwnerBookingsAfterProvider")
+    void findItemOwnerBookingsAfter(BookingState state, int bookingCount) {
+        var now = LocalDateTime.now();
+        tem.persist(createBooking(itemDB, now.minusDays(2), now.minusDays(1)));
+        tem.persist(createBooking(itemDB, now.minusDays(1), now.plusDays(1)));
+        var futureBooking = createBooking(itemDB, now.plusDays(1), now.plusDays(2));
+        futureBooking.setStatus(BookingStatus.WAITING);
+        tem.persist(futureBooking);
+
+        var filter = BookingFilter.byItemOwner(itemDB.getOwner().getId(), state);
+        var bookings = bookingRepository.findBookingsAfter(filter,
+                new BookingCursor(LocalDateTime.now().plusYears(100), Long.MAX_VALUE), 10);
+        assertThat(bookings.size(), is(bookingCount));
+    }
+
+    private static List<BookingDtoOut> toBookingDtos(Booking... bookings) {
+        return Arrays.stream(bookings).map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    private Booking createBooking(Item item, LocalDateTime start, LocalDateTime end) {
+        var booking = new Booking();
+        booking.setBooker(userDB);
+        booking.setItem(item);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
     }
 }
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoIn;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.booking.BookingException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Every booking is saved in its own committed transaction, so the test itself runs without one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, UserServiceImpl.class, UserCache.class})
+public class BookingServiceImplConcurrencyTest {
+    private static final int BOOKERS_COUNT = 8;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item item;
+    private final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        var owner = userRepository.save(createUser("owner"));
+
+        item = new Item();
+        item.setName("ItemName");
+        item.setDescription("ItemDescription");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        for (int i = 0; i < BOOKERS_COUNT; i++) {
+            bookers.add(userRepository.save(createUser("booker" + i)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBookingsOfTheSamePeriodSaveOnlyOne() throws InterruptedException {
+        var bookingDtoIn = new BookingDtoIn();
+        bookingDtoIn.setItemId(item.getId());
+        bookingDtoIn.setStart(LocalDateTime.now().plusDays(1));
+        bookingDtoIn.setEnd(LocalDateTime.now().plusDays(2));
+
+        var executor = Executors.newFixedThreadPool(BOOKERS_COUNT);
+        var startGate = new CountDownLatch(1);
+        var results = new ArrayList<Future<?>>();
+        for (User booker : bookers) {
+            Callable<?> saveBooking = () -> {
+                startGate.await();
+                return bookingService.saveBooking(bookingDtoIn, booker.getId());
+            };
+            results.add(executor.submit(saveBooking));
+        }
+        startGate.countDown();
+
+        var savedCount = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+                savedCount++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(BookingException.class));
+            }
+        }
+        executor.shutdown();
+
+        assertThat(savedCount, is(1));
+        assertThat(bookingRepository.count(), is(1L));
+    }
+
+    private static User createUser(String name) {
+        var user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookingServiceImpl.class, UserServiceImpl.class, UserCache.class})
+public class BookingServiceImplStatementCountTest {
+    private static final int BOOKINGS_COUNT = 20;
+    private static final long MAX_LISTING_STATEMENT_COUNT = 2;
+
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    private User booker;
+    private User owner;
+    private Booking booking;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        booker = new User();
+        booker.setName("BookerName");
+        booker.setEmail("booker@mail.com");
+        tem.persist(booker);
+
+        owner = new User();
+        owner.setName("OwnerName");
+        owner.setEmail("owner@mail.com");
+        tem.persist(owner);
+
+        var now = LocalDateTime.now();
+        for (int i = 0; i < BOOKINGS_COUNT; i++) {
+            var requester = new User();
+            requester.setName("RequesterName" + i);
+            requester.setEmail("requester" + i + "@mail.com");
+            tem.persist(requester);
+
+            var request = new ItemRequest();
+            request.setDescription("RequestDescription" + i);
+            request.setRequester(requester);
+            request.setCreated(now);
+            tem.persist(request);
+
+            var item = new Item();
+            item.setName("ItemName" + i);
+            item.setDescription("ItemDescription" + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            item.setRequest(request);
+            tem.persist(item);
+
+            booking = new Booking();
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setStart(now.plusDays(i + 1));
+            booking.setEnd(now.plusDays(i + 2));
+            tem.persist(booking);
+        }
+        tem.flush();
+        tem.clear();
+
+        statistics = tem.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, BOOKINGS_COUNT})
+    void getBookingsByBookerIdIssuesAtMostTwoStatements(int size) {
+        var bookings = bookingService.getBookingsByBookerId(booker.getId(), BookingState.ALL.name(), 0, size);
+
+        assertThat(bookings.size(), is(size));
+        bookings.forEach(bookingDto -> {
+            assertThat(bookingDto.getItem().getName(), notNullValue());
+            assertThat(bookingDto.getBooker().getId(), is(booker.getId()));
+        });
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_LISTING_STATEMENT_COUNT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, BOOKINGS_COUNT})
+    void getBookingsByItemOwnerIdIssuesAtMostTwoStatements(int size) {
+        var bookings = bookingService.getBookingsByItemOwnerId(owner.getId(), BookingState.FUTURE.name(), 0, size);
+
+        assertThat(bookings.size(), is(size));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_LISTING_STATEMENT_COUNT));
+    }
+
+    @Test
+    void getBookingsByBookerIdAfterIssuesAtMostTwoStatements() {
+        var after = new BookingCursor(LocalDateTime.now().plusYears(100), Long.MAX_VALUE);
+
+        var bookings = bookingService.getBookingsByBookerIdAfter(booker.getId(), BookingState.ALL.name(),
+                after.toString(), BOOKINGS_COUNT);
+
+        assertThat(bookings.size(), is(BOOKINGS_COUNT));
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_LISTING_STATEMENT_COUNT));
+    }
+
+    @Test
+    void getBookingIssuesAtMostTwoStatements() {
+        var bookingDto = bookingService.getBooking(booker.getId(), booking.getId());
+
+        assertThat(bookingDto.getItem().getName(), notNullValue());
+        assertThat(statistics.getPrepareStatementCount(), lessThanOrEqualTo(MAX_LISTING_STATEMENT_COUNT));
+    }
+}
@@ -14,10 +14,14 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoIn;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingFilter;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -31,6 +35,7 @@ import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
@@ -58,6 +63,7 @@ public class BookingServiceImplTest {
     private User owner;
     private Item item;
     private Booking booking;
+    private BookingDtoOut bookingDtoOut;
 
     private BookingDtoIn bookingDtoIn;
 
@@ -95,6 +101,7 @@ public class BookingServiceImplTest {
         booking.setStatus(BookingStatus.WAITING);
         booking.setStart(NOW);
         booking.setEnd(NOW.plusDays(2L));
+        bookingDtoOut = BookingMapper.toBookingDto(booking);
 
         bookingDtoIn = new BookingDtoIn();
         bookingDtoIn.setStart(NOW.plusMinutes(5));
@@ -162,19 +169,9 @@ public class BookingServiceImplTest {
     @MethodSource("getBookingsByItemOwnerIdProvider")
     @MockitoSettings(strictness = Strictness.LENIENT)
     void getBookingsByBookerId(BookingState bookingState, int bookingCount) {
-        Mockito.when(userService.getUserById(Mockito.any()))
-                .thenReturn(UserMapper.toUserDto(user));
-        Mockito.when(bookingRepository.findAllByBookerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findAllByBookerIdAndStatus(eq(USER_ID), eq(BookingStatus.REJECTED),
-                        Mockito.any(Pageable.class)))
-                .thenReturn(Collections.emptyList());
-        Mockito.when(bookingRepository.findCurrentBookingsByBookerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findFutureBookingsByBookerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findPastBookingsByBookerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingRepository.findBookings(BookingFilter.byBooker(USER_ID, bookingState),
+                        PageRequest.of(0, 10)))
+                .thenReturn(bookingCount == 0 ? Collections.emptyList() : List.of(bookingDtoOut));
 
         final int from = 0;
         final int size = 10;
@@ -199,20 +196,9 @@ public class BookingServiceImplTest {
     @MethodSource("getBookingsByItemOwnerIdProvider")
     @MockitoSettings(strictness = Strictness.LENIENT)
     void getBookingsByItemOwnerId(BookingState bookingState, int bookingCount) {
-        Mockito.when(userService.getUserById(Mockito.any()))
-                .thenReturn(UserMapper.toUserDto(user));
-
-        Mockito.when(bookingRepository.findAllByItemOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatus(eq(USER_ID), eq(BookingStatus.REJECTED),
-                        Mockito.any(Pageable.class)))
-                .thenReturn(Collections.emptyList());
-        Mockito.when(bookingRepository.findCurrentBookingsByItemOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findFutureBookingsByItemOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
-        Mockito.when(bookingRepository.findPastBookingsByItemOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingRepository.findBookings(BookingFilter.byItemOwner(USER_ID, bookingState),
+                        PageRequest.of(0, 10)))
+                .thenReturn(bookingCount == 0 ? Collections.emptyList() : List.of(bookingDtoOut));
 
         final int from = 0;
         final int size = 10;
@@ -223,7 +209,44 @@ public class BookingServiceImplTest {
         assertThat(bookings.size(), is(bookingCount));
 
         Mockito.verify(userService, Mockito.times(1))
-                .getUserById(USER_ID);
+                .checkUserExists(USER_ID);
+    }
+
+    @Test
+    void getBookingsByBookerIdAfter() {
+        var after = new BookingCursor(NOW, BOOKING_ID + 1);
+        Mockito.when(bookingRepository.findBookingsAfter(BookingFilter.byBooker(BOOKER_ID, BookingState.PAST), after, 10))
+                .thenReturn(List.of(bookingDtoOut));
+
+        var bookings = bookingService.getBookingsByBookerIdAfter(BOOKER_ID, BookingState.PAST.name(),
+                after.toString(), 10);
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(BOOKING_ID));
+    }
+
+    @Test
+    void getBookingsByItemOwnerIdAfter() {
+        var after = new BookingCursor(NOW, BOOKING_ID + 1);
+        Mockito.when(bookingRepository.findBookingsAfter(BookingFilter.byItemOwner(USER_ID, BookingState.ALL), after, 10))
+                .thenReturn(List.of(bookingDtoOut));
+
+        var bookings = bookingService.getBookingsByItemOwnerIdAfter(USER_ID, BookingState.ALL.name(),
+                after.toString(), 10);
+
+        assertThat(bookings.size(), is(1));
+        assertThat(bookings.get(0).getId(), is(BOOKING_ID));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2022-10-10T10:00", "2022-10-10T10:00,id", "yesterday,1", "2022-10-10T10:00,1,2"})
+    void getBookingsByBookerIdAfterInvalidCursor(String after) {
+        var bookingException = Assertions.assertThrows(BookingException.class,
+                () -> bookingService.getBookingsByBookerIdAfter(BOOKER_ID, BookingState.ALL.name(), after, 10));
+
+        Assertions.assertEquals(String.format("Invalid booking cursor: %s", after), bookingException.getMessage());
+
+        Mockito.verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -280,6 +303,51 @@ public class BookingServiceImplTest {
                 .save(Mockito.any());
     }
 
+    @Test
+    void saveBookingWithOverlappingBooking() {
+        Mockito.when(userService.getUserById(Mockito.any()))
+                .thenReturn(UserMapper.toUserDto(user));
+        Mockito.when(itemRepository.findById(Mockito.any()))
+                .thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.existsOverlappingBooking(eq(ITEM_ID), eq(bookingDtoIn.getStart()),
+                        eq(bookingDtoIn.getEnd()), Mockito.anyCollection()))
+                .thenReturn(true);
+
+        final var bookingException = Assertions.assertThrows(
+                BookingException.class,
+                () -> bookingService.saveBooking(bookingDtoIn, BOOKER_ID));
+
+        var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        Assertions.assertEquals(String.format(
+                        "The booking item {id=%s} is already booked for the period from %s to %s", ITEM_ID,
+                        bookingDtoIn.getStart().format(formatter), bookingDtoIn.getEnd().format(formatter)),
+                bookingException.getMessage());
+
+        Mockito.verify(bookingRepository, Mockito.never())
+                .save(Mockito.any());
+    }
+
+    @Test
+    void saveBookingRejectedByExclusionConstraint() {
+        Mockito.when(userService.getUserById(Mockito.any()))
+                .thenReturn(UserMapper.toUserDto(user));
+        Mockito.when(itemRepository.findById(Mockito.any()))
+                .thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.save(Mockito.any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        final var bookingException = Assertions.assertThrows(
+                BookingException.class,
+                () -> bookingService.saveBooking(bookingDtoIn, BOOKER_ID));
+
+        var formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        Assertions.assertEquals(String.format(
+                        "The booking item {id=%s} is already booked for the period from %s to %s", ITEM_ID,
+                        bookingDtoIn.getStart().format(formatter), bookingDtoIn.getEnd().format(formatter)),
+                bookingException.getMessage());
+    }
+
     private static Stream<Arguments> updateBookingStatusProvider() {
         return Stream.of(
                 Arguments.of(true, BookingStatus.APPROVED),
@@ -290,9 +358,6 @@ public class BookingServiceImplTest {
     @ParameterizedTest
     @MethodSource("updateBookingStatusProvider")
     void updateBookingStatus(boolean approved, BookingStatus bookingStatus) {
-        Mockito.when(userService.getUserById(Mockito.any()))
-                .thenReturn(UserMapper.toUserDto(user));
-
         Mockito.when(bookingRepository.findById(Mockito.any()))
                 .thenReturn(Optional.of(booking));
 
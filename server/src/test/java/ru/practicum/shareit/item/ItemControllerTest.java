@@ -8,9 +8,12 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentDtoIn;
+import ru.practicum.shareit.config.EtagConfig;
 import ru.practicum.shareit.comment.dto.CommentDtoOut;
 import ru.practicum.shareit.item.dto.ItemDtoIn;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
@@ -20,13 +23,17 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(EtagConfig.class)
 class ItemControllerTest {
 
     @Autowired
@@ -74,6 +81,30 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDtoOut.getAvailable()), Boolean.class));
     }
 
+    @Test
+    @DisplayName("getOneItemByIdWithMatchingEtag [304]")
+    void getItemByIdWithMatchingEtag() throws Exception {
+        Mockito.when(itemService.getItemById(Mockito.anyLong(), Mockito.anyLong()))
+                .thenReturn(itemDtoOut);
+
+        var etag = mvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/items/{itemId}", ITEM_ID)
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("successfullyGetItems [200]")
     void getItems() throws Exception {
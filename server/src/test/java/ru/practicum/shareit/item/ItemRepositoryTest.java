@@ -9,7 +9,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -62,7 +64,7 @@ public class ItemRepositoryTest {
     }
 
     @Test
-    void searchByText() {
+    void searchAvailableItems() {
         var user = new User();
         user.setEmail("user@mail.com");
         user.setName("UserName");
@@ -91,8 +93,30 @@ public class ItemRepositoryTest {
         var item2DB = tem.persist(item2);
         tem.persist(item3);
 
-        var result = itemRepository.searchByText("item", Pageable.unpaged());
+        var result = itemRepository.searchAvailableItems("item", Pageable.unpaged());
         assertThat(result.size(), is(2));
         assertThat(result, is(List.of(item1DB, item2DB)));
     }
+
+    @Test
+    void searchAvailableItemsSkipsUnavailableItems() {
+        var user = new User();
+        user.setEmail("user@mail.com");
+        user.setName("UserName");
+        tem.persist(user);
+
+        var availableItemIds = new ArrayList<Long>();
+        for (int i = 0; i < 10; i++) {
+            var item = new Item();
+            item.setName("drill" + i);
+            item.setDescription("description" + i);
+            item.setAvailable(i % 5 == 0);
+            item.setOwner(user);
+            tem.persist(item);
+            if (item.getAvailable()) availableItemIds.add(item.getId());
+        }
+
+        var result = itemRepository.searchAvailableItems("drill", Pageable.unpaged());
+        assertThat(result.stream().map(Item::getId).collect(Collectors.toList()), is(availableItemIds));
+    }
 }
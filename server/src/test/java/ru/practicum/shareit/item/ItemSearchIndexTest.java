@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = new ItemSearchIndex(itemRepository, "in-memory");
+        Mockito.when(itemRepository.findAll())
+                .thenReturn(List.of(
+                        createItem(1L, "Drill", "Cordless drill", true),
+                        createItem(2L, "Hammer", "Heavy steel hammer", true),
+                        createItem(3L, "Screwdriver", "Drill bits included", false),
+                        createItem(4L, "Ladder", "Aluminium ladder", true)));
+        itemSearchIndex.rebuild();
+    }
+
+    private static Stream<Arguments> searchProvider() {
+        return Stream.of(
+                Arguments.of("drill", List.of(1L)),
+                Arguments.of("DRILL", List.of(1L)),
+                Arguments.of("ill", List.of(1L)),
+                Arguments.of("er", List.of(2L, 4L)),
+                Arguments.of("steel ham", List.of(2L)),
+                Arguments.of("saw", List.of())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("searchProvider")
+    void search(String text, List<Long> itemIds) {
+        assertThat(itemSearchIndex.isReady(), is(true));
+        assertThat(ids(itemSearchIndex.search(text, Pageable.unpaged())), is(itemIds));
+    }
+
+    @Test
+    void searchWithPaging() {
+        assertThat(ids(itemSearchIndex.search("a", PageRequest.of(0, 2))), is(List.of(2L, 4L)));
+        assertThat(ids(itemSearchIndex.search("a", PageRequest.of(1, 2))), is(List.of()));
+    }
+
+    @Test
+    void indexNewAndUpdatedItems() {
+        itemSearchIndex.index(createItem(5L, "Saw", "Hand saw", true));
+        itemSearchIndex.index(createItem(1L, "Drill", "Hammer drill", true));
+        itemSearchIndex.index(createItem(3L, "Screwdriver", "Drill bits included", true));
+
+        assertThat(ids(itemSearchIndex.search("saw", Pageable.unpaged())), is(List.of(5L)));
+        assertThat(ids(itemSearchIndex.search("hammer", Pageable.unpaged())), is(List.of(1L, 2L)));
+        assertThat(ids(itemSearchIndex.search("cordless", Pageable.unpaged())), is(List.of()));
+        assertThat(ids(itemSearchIndex.search("drill", Pageable.unpaged())), is(List.of(1L, 3L)));
+    }
+
+    @Test
+    void indexIgnoresOlderVersionsOfItems() {
+        itemSearchIndex.index(createItem(1L, "Drill", "Hammer drill", true, 2L));
+        itemSearchIndex.index(createItem(1L, "Drill", "Old drill", true, 1L));
+
+        assertThat(ids(itemSearchIndex.search("hammer drill", Pageable.unpaged())), is(List.of(1L)));
+        assertThat(ids(itemSearchIndex.search("old", Pageable.unpaged())), is(List.of()));
+    }
+
+    @Test
+    void rebuildKeepsItemsIndexedWhileLoading() {
+        Mockito.when(itemRepository.findAll())
+                .thenAnswer(invocation -> {
+                    itemSearchIndex.index(createItem(1L, "Drill", "Hammer drill", true, 2L));
+                    itemSearchIndex.index(createItem(5L, "Saw", "Hand saw", true, 0L));
+                    return List.of(createItem(1L, "Drill", "Cordless drill", true, 1L));
+                });
+
+        itemSearchIndex.rebuild();
+
+        assertThat(ids(itemSearchIndex.search("hammer drill", Pageable.unpaged())), is(List.of(1L)));
+        assertThat(ids(itemSearchIndex.search("cordless", Pageable.unpaged())), is(List.of()));
+        assertThat(ids(itemSearchIndex.search("saw", Pageable.unpaged())), is(List.of(5L)));
+    }
+
+    @Test
+    void searchIndexDisabledInOtherModes() {
+        var disabledIndex = new ItemSearchIndex(itemRepository, "like");
+        disabledIndex.rebuild();
+
+        assertThat(disabledIndex.isReady(), is(false));
+    }
+
+    private static List<Long> ids(List<ItemDtoOut> items) {
+        return items.stream().map(ItemDtoOut::getId).collect(Collectors.toList());
+    }
+
+    private static Item createItem(Long id, String name, String description, boolean available) {
+        return createItem(id, name, description, available, null);
+    }
+
+    private static Item createItem(Long id, String name, String description, boolean available, Long version) {
+        var item = new Item();
+        item.setVersion(version);
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
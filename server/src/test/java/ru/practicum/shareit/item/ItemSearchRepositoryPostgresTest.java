@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.PostgresTestDatabase;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Runs the full-text search, which is the default on PostgreSQL, against the schema built by all migrations,
+ * including the search vector and the trigram indexes under {@code db/vendor/postgresql}.
+ */
+@DataJpaTest(properties = "shareit.item.search-mode=full-text")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisabledIf("ru.practicum.shareit.PostgresTestDatabase#isUnavailable")
+public class ItemSearchRepositoryPostgresTest {
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Item screwdriverSet;
+    private Item drill;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() {
+        var owner = new User();
+        owner.setName("Owner");
+        owner.setEmail("owner@mail.com");
+        tem.persist(owner);
+
+        screwdriverSet = tem.persist(createItem(owner, "Screwdriver set", "Fits any drill", true));
+        drill = tem.persist(createItem(owner, "Drill", "Cordless drill", true));
+        tem.persist(createItem(owner, "Old drill", "Broken drill", false));
+        tem.persist(createItem(owner, "Hammer", "Heavy", true));
+        tem.flush();
+    }
+
+    @Test
+    void searchRanksNameMatchesAboveDescriptionMatches() {
+        var result = itemRepository.searchAvailableItems("drill", Pageable.unpaged());
+
+        assertThat(result, is(List.of(drill, screwdriverSet)));
+    }
+
+    @Test
+    void searchFallsBackToSubstringsOfWords() {
+        var result = itemRepository.searchAvailableItems("driver", Pageable.unpaged());
+
+        assertThat(result, is(List.of(screwdriverSet)));
+    }
+
+    @Test
+    void searchIsPaged() {
+        var result = itemRepository.searchAvailableItems("drill", PageRequest.of(1, 1));
+
+        assertThat(result, is(List.of(screwdriverSet)));
+    }
+
+    private static Item createItem(User owner, String name, String description, boolean available) {
+        var item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemRequestMatcher.class, UserServiceImpl.class, UserCache.class})
+public class ItemServiceImplStatementCountTest {
+    private static final int ITEMS_COUNT = 20;
+    private static final long GET_ITEMS_STATEMENT_COUNT = 4;
+
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private ItemServiceImpl itemService;
+
+    private User owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("OwnerName");
+        owner.setEmail("owner@mail.com");
+        tem.persist(owner);
+
+        var booker = new User();
+        booker.setName("BookerName");
+        booker.setEmail("booker@mail.com");
+        tem.persist(booker);
+
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            var item = new Item();
+            item.setName("ItemName" + i);
+            item.setDescription("ItemDescription" + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            tem.persist(item);
+
+            tem.persist(createBooking(item, booker, LocalDateTime.now().minusDays(2),
+                    LocalDateTime.now().minusDays(1)));
+            tem.persist(createBooking(item, booker, LocalDateTime.now().plusDays(1),
+                    LocalDateTime.now().plusDays(2)));
+
+            var comment = new Comment();
+            comment.setText("CommentText" + i);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comment.setCreated(LocalDateTime.now());
+            tem.persist(comment);
+        }
+        tem.flush();
+        tem.clear();
+
+        statistics = tem.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, ITEMS_COUNT})
+    void getItemsIssuesConstantStatementCount(int size) {
+        var items = itemService.getItems(owner.getId(), 0, size);
+
+        assertThat(items.size(), is(size));
+        items.forEach(itemDto -> {
+            assertThat(itemDto.getLastBooking(), notNullValue());
+            assertThat(itemDto.getNextBooking(), notNullValue());
+            assertThat(itemDto.getComments().size(), is(1));
+        });
+        assertThat(statistics.getPrepareStatementCount(), is(GET_ITEMS_STATEMENT_COUNT));
+    }
+
+    private static Booking createBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        var booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+}
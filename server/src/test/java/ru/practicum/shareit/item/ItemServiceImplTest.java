@@ -9,21 +9,30 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingItemView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.dto.CommentDtoIn;
+import ru.practicum.shareit.comment.dto.CommentView;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.exception.booking.BookingException;
 import ru.practicum.shareit.exception.item.ItemNotFoundByIdException;
 import ru.practicum.shareit.exception.user.UserIsNotOwnerException;
 import ru.practicum.shareit.item.dto.ItemDtoIn;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -32,6 +41,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -49,6 +59,12 @@ public class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private UserService userService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemRequestMatcher itemRequestMatcher;
+    @Mock
+    private ItemSuggestionRepository itemSuggestionRepository;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -120,8 +136,6 @@ public class ItemServiceImplTest {
 
     @Test
     void getItemById() {
-        Mockito.when(userService.getUserById(USER_ID))
-                .thenReturn(UserMapper.toUserDto(user));
         Mockito.when(itemRepository.findById(ITEM_ID))
                 .thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.findLastBookingByItemId(ITEM_ID))
@@ -147,9 +161,6 @@ public class ItemServiceImplTest {
 
     @Test
     void getItemByWrongId() {
-        Mockito.when(userService.getUserById(USER_ID))
-                .thenReturn(UserMapper.toUserDto(user));
-
         long wrongItemId = 100;
         var itemException = Assertions.assertThrows(ItemNotFoundByIdException.class,
                 () -> itemService.getItemById(wrongItemId, USER_ID));
@@ -163,16 +174,16 @@ public class ItemServiceImplTest {
 
     @Test
     void getAllItemsByUser() {
-        Mockito.when(userService.getUserById(USER_ID))
-                .thenReturn(UserMapper.toUserDto(user));
+        var commentView = toCommentView(comment);
+        var lastBookingView = toBookingItemView(booking, true);
+        var nextBookingView = toBookingItemView(booking, false);
+
         Mockito.when(itemRepository.findAllByOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(item));
-        Mockito.when(commentRepository.findCommentsByItemId(ITEM_ID))
-                .thenReturn(List.of(comment));
-        Mockito.when(bookingRepository.findLastBookingByItemId(ITEM_ID))
-                .thenReturn(Optional.of(booking));
-        Mockito.when(bookingRepository.findNextBookingByItemId(ITEM_ID))
-                .thenReturn(Optional.of(booking));
+        Mockito.when(commentRepository.findCommentViewsByItemIdIn(List.of(ITEM_ID)))
+                .thenReturn(List.of(commentView));
+        Mockito.when(bookingRepository.findLastAndNextBookingsByItemIds(Set.of(ITEM_ID)))
+                .thenReturn(List.of(lastBookingView, nextBookingView));
 
         var items = itemService.getItems(USER_ID, 1, 10);
 
@@ -184,13 +195,57 @@ public class ItemServiceImplTest {
         assertThat(itemDto.getDescription(), is(item.getDescription()));
         assertThat(itemDto.getAvailable(), is(item.getAvailable()));
         assertThat(itemDto.getComments().get(0).getText(), is(comment.getText()));
+        assertThat(itemDto.getComments().get(0).getItemName(), is(item.getName()));
+        assertThat(itemDto.getComments().get(0).getAuthorName(), is(user.getName()));
         assertThat(itemDto.getLastBooking().getId(), is(booking.getId()));
+        assertThat(itemDto.getLastBooking().getBookerId(), is(requester.getId()));
         assertThat(itemDto.getNextBooking().getId(), is(booking.getId()));
 
         Mockito.verify(itemRepository, Mockito.times(1))
                 .findAllByOwnerId(eq(ITEM_ID), Mockito.any(Pageable.class));
+        Mockito.verify(bookingRepository, Mockito.never())
+                .findLastBookingByItemId(Mockito.anyLong());
+        Mockito.verify(commentRepository, Mockito.never())
+                .findCommentsByItemId(Mockito.anyLong());
+    }
+
+    @Test
+    void getAllItemsByUserWithoutItems() {
+        Mockito.when(itemRepository.findAllByOwnerId(eq(USER_ID), Mockito.any(Pageable.class)))
+                .thenReturn(List.of());
+
+        var items = itemService.getItems(USER_ID, 0, 10);
+
+        assertThat(items.size(), is(0));
+
+        Mockito.verifyNoInteractions(bookingRepository, commentRepository);
     }
 
+    @Test
+    void searchItem() {
+        Mockito.when(itemRepository.searchAvailableItems(eq("itemname"), Mockito.any(Pageable.class)))
+                .thenReturn(List.of(item));
+
+        var items = itemService.searchItem(" ItemName ", 0, 10);
+
+        assertThat(items.size(), is(1));
+        assertThat(items.get(0).getId(), is(ITEM_ID));
+    }
+
+    @Test
+    void searchItemWithReadySearchIndex() {
+        var itemDto = ItemMapper.toItemDto(item);
+        Mockito.when(itemSearchIndex.isReady())
+                .thenReturn(true);
+        Mockito.when(itemSearchIndex.search("ItemName", PageRequest.of(0, 10)))
+                .thenReturn(List.of(itemDto));
+
+        var items = itemService.searchItem("ItemName", 0, 10);
+
+        assertThat(items, is(List.of(itemDto)));
+        Mockito.verify(itemRepository, Mockito.never())
+                .searchAvailableItems(Mockito.anyString(), Mockito.any(Pageable.class));
+    }
 
     @Test
     void saveItem() {
@@ -200,6 +255,9 @@ public class ItemServiceImplTest {
                 .thenReturn(Optional.of(itemRequest));
         Mockito.when(itemRepository.save(Mockito.any()))
                 .thenReturn(item);
+        var itemSuggestions = List.of(new ItemSuggestion());
+        Mockito.when(itemRequestMatcher.match(item))
+                .thenReturn(itemSuggestions);
 
 
         var itemDto = itemService.saveItem(itemDtoIn, ITEM_ID);
@@ -211,13 +269,19 @@ public class ItemServiceImplTest {
 
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(Mockito.any());
+        Mockito.verify(itemSearchIndex, Mockito.times(1))
+                .index(item);
+        Mockito.verify(itemRequestMatcher, Mockito.times(1))
+                .close(itemRequest.getId());
+        Mockito.verify(itemSuggestionRepository, Mockito.times(1))
+                .saveAll(itemSuggestions);
     }
 
     @Test
     void updateItem() {
         Mockito.when(userService.getUserById(USER_ID))
                 .thenReturn(UserMapper.toUserDto(user));
-        Mockito.when(itemRepository.findById(ITEM_ID))
+        Mockito.when(itemRepository.lockById(ITEM_ID))
                 .thenReturn(Optional.of(item));
         Mockito.when(itemRepository.save(Mockito.any()))
                 .thenReturn(item);
@@ -231,13 +295,74 @@ public class ItemServiceImplTest {
 
         Mockito.verify(itemRepository, Mockito.times(1))
                 .save(item);
+        Mockito.verify(itemSearchIndex, Mockito.times(1))
+                .index(item);
+    }
+
+    @Test
+    void updateItemSuggestsRenamedItemForNewRequestsOnly() {
+        Mockito.when(userService.getUserById(USER_ID))
+                .thenReturn(UserMapper.toUserDto(user));
+        Mockito.when(itemRepository.lockById(ITEM_ID))
+                .thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.save(Mockito.any()))
+                .thenReturn(item);
+        var suggestedItemSuggestion = createItemSuggestion(ITEM_REQUEST_ID);
+        var newItemSuggestion = createItemSuggestion(ITEM_REQUEST_ID + 1);
+        Mockito.when(itemRequestMatcher.match(item))
+                .thenReturn(List.of(suggestedItemSuggestion, newItemSuggestion));
+        Mockito.when(itemSuggestionRepository.findRequestIdsByItemId(ITEM_ID))
+                .thenReturn(Set.of(ITEM_REQUEST_ID));
+
+        itemService.updateItem(itemDtoIn, ITEM_ID, USER_ID);
+
+        Mockito.verify(itemSuggestionRepository, Mockito.times(1))
+                .saveAll(List.of(newItemSuggestion));
+    }
+
+    @Test
+    void updateItemSuggestsItemMadeAvailable() {
+        item.setAvailable(false);
+        itemDtoIn.setName(item.getName());
+        Mockito.when(userService.getUserById(USER_ID))
+                .thenReturn(UserMapper.toUserDto(user));
+        Mockito.when(itemRepository.lockById(ITEM_ID))
+                .thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.save(Mockito.any()))
+                .thenReturn(item);
+        var itemSuggestion = createItemSuggestion(ITEM_REQUEST_ID);
+        Mockito.when(itemRequestMatcher.match(item))
+                .thenReturn(List.of(itemSuggestion));
+
+        itemService.updateItem(itemDtoIn, ITEM_ID, USER_ID);
+
+        Mockito.verify(itemSuggestionRepository, Mockito.times(1))
+                .saveAll(List.of(itemSuggestion));
+    }
+
+    @Test
+    void updateItemDescriptionDoesNotSuggestItem() {
+        itemDtoIn.setName(item.getName());
+        Mockito.when(userService.getUserById(USER_ID))
+                .thenReturn(UserMapper.toUserDto(user));
+        Mockito.when(itemRepository.lockById(ITEM_ID))
+                .thenReturn(Optional.of(item));
+        Mockito.when(itemRepository.save(Mockito.any()))
+                .thenReturn(item);
+
+        itemService.updateItem(itemDtoIn, ITEM_ID, USER_ID);
+
+        Mockito.verify(itemRequestMatcher, Mockito.never())
+                .match(Mockito.any());
+        Mockito.verify(itemSuggestionRepository, Mockito.never())
+                .saveAll(Mockito.any());
     }
 
     @Test
     void updateItemNotByOwner() {
         Mockito.when(userService.getUserById(REQUESTER_ID))
                 .thenReturn(UserMapper.toUserDto(requester));
-        Mockito.when(itemRepository.findById(ITEM_ID))
+        Mockito.when(itemRepository.lockById(ITEM_ID))
                 .thenReturn(Optional.of(item));
 
         var itemException = Assertions.assertThrows(UserIsNotOwnerException.class,
@@ -249,7 +374,7 @@ public class ItemServiceImplTest {
         Mockito.verify(userService, Mockito.times(1))
                 .getUserById(REQUESTER_ID);
         Mockito.verify(itemRepository, Mockito.times(1))
-                .findById(ITEM_ID);
+                .lockById(ITEM_ID);
     }
 
     @Test
@@ -258,8 +383,9 @@ public class ItemServiceImplTest {
                 .thenReturn(UserMapper.toUserDto(requester));
         Mockito.when(itemRepository.findById(Mockito.any()))
                 .thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.findPastBookingsByBookerId(eq(REQUESTER_ID), Mockito.any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(REQUESTER_ID),
+                        eq(ITEM_ID), eq(BookingStatus.APPROVED), Mockito.any(LocalDateTime.class)))
+                .thenReturn(true);
         Mockito.when(commentRepository.save(Mockito.any(Comment.class)))
                 .thenReturn(comment);
 
@@ -273,4 +399,55 @@ public class ItemServiceImplTest {
         Mockito.verify(commentRepository, Mockito.times(1))
                 .save(Mockito.any(Comment.class));
     }
+
+    @Test
+    void saveCommentWithoutFinishedBooking() {
+        Mockito.when(userService.getUserById(REQUESTER_ID))
+                .thenReturn(UserMapper.toUserDto(requester));
+        Mockito.when(itemRepository.findById(ITEM_ID))
+                .thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(REQUESTER_ID),
+                        eq(ITEM_ID), eq(BookingStatus.APPROVED), Mockito.any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        var commentDtoIn = new CommentDtoIn();
+        commentDtoIn.setText(comment.getText());
+
+        var bookingException = Assertions.assertThrows(BookingException.class,
+                () -> itemService.saveComment(commentDtoIn, REQUESTER_ID, ITEM_ID));
+
+        Assertions.assertEquals(String.format("The user {id=%s} don't book the item {id=%s}", REQUESTER_ID, ITEM_ID),
+                bookingException.getMessage());
+        Mockito.verifyNoInteractions(commentRepository);
+    }
+
+    private static BookingItemView toBookingItemView(Booking booking, boolean lastBooking) {
+        var bookingView = Mockito.mock(BookingItemView.class);
+        Mockito.when(bookingView.getId()).thenReturn(booking.getId());
+        Mockito.when(bookingView.getItemId()).thenReturn(booking.getItem().getId());
+        Mockito.when(bookingView.getBookerId()).thenReturn(booking.getBooker().getId());
+        Mockito.when(bookingView.getStartDate()).thenReturn(booking.getStart());
+        Mockito.when(bookingView.getEndDate()).thenReturn(booking.getEnd());
+        Mockito.when(bookingView.getLastBooking()).thenReturn(lastBooking);
+        return bookingView;
+    }
+
+    private static CommentView toCommentView(Comment comment) {
+        var commentView = Mockito.mock(CommentView.class);
+        Mockito.when(commentView.getId()).thenReturn(comment.getId());
+        Mockito.when(commentView.getText()).thenReturn(comment.getText());
+        Mockito.when(commentView.getItemId()).thenReturn(comment.getItem().getId());
+        Mockito.when(commentView.getItemName()).thenReturn(comment.getItem().getName());
+        Mockito.when(commentView.getAuthorName()).thenReturn(comment.getAuthor().getName());
+        Mockito.when(commentView.getCreated()).thenReturn(comment.getCreated());
+        return commentView;
+    }
+
+    private static ItemSuggestion createItemSuggestion(Long requestId) {
+        var suggestedRequest = new ItemRequest();
+        suggestedRequest.setId(requestId);
+        var itemSuggestion = new ItemSuggestion();
+        itemSuggestion.setRequest(suggestedRequest);
+        return itemSuggestion;
+    }
 }
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDtoIn;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The item is saved in its own committed transaction, so the test itself runs without one.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ItemServiceImpl.class, ItemSearchIndex.class, ItemRequestMatcher.class, UserServiceImpl.class, UserCache.class})
+public class ItemServiceImplTransactionTest {
+    @Autowired
+    private ItemServiceImpl itemService;
+    @Autowired
+    private ItemRequestMatcher itemRequestMatcher;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private ItemSuggestionRepository itemSuggestionRepository;
+
+    private User owner;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUser("owner"));
+        var requester = userRepository.save(createUser("requester"));
+
+        itemRequest = new ItemRequest();
+        itemRequest.setRequester(requester);
+        itemRequest.setDescription("I need a drill");
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest = itemRequestRepository.save(itemRequest);
+        itemRequestMatcher.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void saveItemRollsBackAndKeepsRequestOpenWhenSuggestionsAreNotSaved() {
+        Mockito.when(itemSuggestionRepository.saveAll(Mockito.any()))
+                .thenThrow(new DataIntegrityViolationException("item_suggestions"));
+
+        Assertions.assertThrows(DataIntegrityViolationException.class,
+                () -> itemService.saveItem(createDrillDtoIn(), owner.getId()));
+
+        assertThat(itemRepository.count(), is(0L));
+        assertThat(itemRequestMatcher.match(createOtherDrill()).size(), is(1));
+    }
+
+    @Test
+    void saveItemKeepsRequestOpenUntilItsTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.saveItem(createDrillDtoIn(), owner.getId());
+            assertThat(itemRequestMatcher.match(createOtherDrill()).size(), is(1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(itemRepository.count(), is(0L));
+        assertThat(itemRequestMatcher.match(createOtherDrill()).size(), is(1));
+    }
+
+    @Test
+    void saveItemClosesRequestOnceItsTransactionCommits() {
+        itemService.saveItem(createDrillDtoIn(), owner.getId());
+
+        assertThat(itemRepository.count(), is(1L));
+        assertThat(itemRequestMatcher.match(createOtherDrill()).size(), is(0));
+    }
+
+    private ItemDtoIn createDrillDtoIn() {
+        var itemDtoIn = new ItemDtoIn();
+        itemDtoIn.setName("Drill");
+        itemDtoIn.setDescription("Cordless drill");
+        itemDtoIn.setAvailable(true);
+        itemDtoIn.setRequestId(itemRequest.getId());
+        return itemDtoIn;
+    }
+
+    private Item createOtherDrill() {
+        var otherDrill = new Item();
+        otherDrill.setName("Drill");
+        otherDrill.setAvailable(true);
+        otherDrill.setOwner(owner);
+        return otherDrill;
+    }
+
+    private static User createUser(String name) {
+        var user = new User();
+        user.setName(name);
+        user.setEmail(name + "@mail.com");
+        return user;
+    }
+}
@@ -10,8 +10,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.dto.ItemRequestFeedDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.nio.charset.StandardCharsets;
@@ -119,4 +121,37 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id", is(itemRequestDtoOut.getId()), Long.class))
                 .andExpect(jsonPath("$[0].description", is(itemRequestDtoOut.getDescription()), String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("successfullyGetItemRequestFeed [200]")
+    void getItemRequestFeed() throws Exception {
+        Mockito.when(itemRequestService.getItemRequestFeed(USER_ID_HEADER_VALUE, "cursor", 1))
+                .thenReturn(new ItemRequestFeedDtoOut(List.of(itemRequestDtoOut), "nextCursor"));
+
+        mvc.perform(get("/requests/feed")
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .param("after", "cursor")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests[0].id", is(itemRequestDtoOut.getId()), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("nextCursor")));
+    }
+
+    @Test
+    @DisplayName("successfullyGetSuggestedItems [200]")
+    void getSuggestedItems() throws Exception {
+        var itemDtoOut = new ItemDtoOut();
+        itemDtoOut.setId(1L);
+        itemDtoOut.setName("ItemName");
+        Mockito.when(itemRequestService.getSuggestedItems(USER_ID_HEADER_VALUE, ITEM_REQUEST_ID))
+                .thenReturn(List.of(itemDtoOut));
+
+        mvc.perform(get("/requests/{requestId}/suggestions", ITEM_REQUEST_ID)
+                        .header(USER_ID_HEADER, USER_ID_HEADER_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(itemDtoOut.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", is(itemDtoOut.getName())));
+    }
+}
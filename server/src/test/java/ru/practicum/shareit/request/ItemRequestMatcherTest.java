@@ -0,0 +1,138 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.OpenItemRequestView;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemRequestMatcherTest {
+    private static final long OWNER_ID = 1;
+    private static final long REQUESTER_ID = 2;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    private ItemRequestMatcher itemRequestMatcher;
+
+    @BeforeEach
+    void setUp() {
+        itemRequestMatcher = new ItemRequestMatcher(itemRequestRepository);
+        Mockito.when(itemRequestRepository.findOpenItemRequestViews())
+                .thenReturn(List.of(
+                        createView(1L, REQUESTER_ID, "I need a drill"),
+                        createView(2L, REQUESTER_ID, "Cordless DRILL, with batteries"),
+                        createView(3L, REQUESTER_ID, "A ladder for the weekend"),
+                        createView(4L, OWNER_ID, "Looking for a cordless drill")));
+        itemRequestMatcher.rebuild();
+    }
+
+    @Test
+    void matchScoresRequestsByCommonWords() {
+        var itemSuggestions = itemRequestMatcher.match(createItem("Cordless drill", true));
+
+        assertThat(requestIds(itemSuggestions), is(List.of(2L, 1L)));
+        assertThat(scores(itemSuggestions), is(List.of(2, 1)));
+        assertThat(itemSuggestions.get(0).getItem().getName(), is("Cordless drill"));
+    }
+
+    @Test
+    void matchSkipsUnavailableItemsAndShortWords() {
+        assertThat(itemRequestMatcher.match(createItem("Drill", false)).size(), is(0));
+        assertThat(itemRequestMatcher.match(createItem("A", true)).size(), is(0));
+    }
+
+    @Test
+    void indexAndCloseRequests() {
+        itemRequestMatcher.index(createItemRequest(5L, "Aluminium ladder"));
+        itemRequestMatcher.close(3L);
+
+        assertThat(requestIds(itemRequestMatcher.match(createItem("Ladder", true))), is(List.of(5L)));
+
+        itemRequestMatcher.close(5L);
+
+        assertThat(itemRequestMatcher.match(createItem("Ladder", true)).size(), is(0));
+    }
+
+    @Test
+    void matchKeepsBestSuggestions() {
+        IntStream.rangeClosed(10, 40)
+                .forEach(id -> itemRequestMatcher.index(createItemRequest((long) id, "Hammer")));
+
+        var itemSuggestions = itemRequestMatcher.match(createItem("Hammer", true));
+
+        assertThat(itemSuggestions.size(), is(ItemRequestMatcher.MAX_SUGGESTIONS_PER_ITEM));
+        assertThat(itemSuggestions.get(0).getRequest().getId(), is(40L));
+    }
+
+    private static List<Long> requestIds(List<ItemSuggestion> itemSuggestions) {
+        return itemSuggestions.stream()
+                .map(itemSuggestion -> itemSuggestion.getRequest().getId())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Integer> scores(List<ItemSuggestion> itemSuggestions) {
+        return itemSuggestions.stream()
+                .map(ItemSuggestion::getScore)
+                .collect(Collectors.toList());
+    }
+
+    private static Item createItem(String name, boolean available) {
+        var owner = new User();
+        owner.setId(OWNER_ID);
+
+        var item = new Item();
+        item.setId(1L);
+        item.setName(name);
+        item.setDescription("ItemDescription");
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static ItemRequest createItemRequest(Long id, String description) {
+        var requester = new User();
+        requester.setId(REQUESTER_ID);
+
+        var itemRequest = new ItemRequest();
+        itemRequest.setId(id);
+        itemRequest.setDescription(description);
+        itemRequest.setRequester(requester);
+        return itemRequest;
+    }
+
+    private static OpenItemRequestView createView(Long id, Long requesterId, String description) {
+        return new OpenItemRequestView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getRequesterId() {
+                return requesterId;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+}
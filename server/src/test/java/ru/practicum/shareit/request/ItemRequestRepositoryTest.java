@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.model.Item;
@@ -12,6 +13,8 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -69,4 +72,70 @@ public class ItemRequestRepositoryTest {
                 .findAllByRequesterIdNot(requester1DB.getId(), Pageable.unpaged());
         assertThat(itemRequestsByRequesterIdNot.size(), is(1));
     }
+
+    @Test
+    void findAllByRequesterIdNotAfter() {
+        var requester = new User();
+        requester.setEmail("requester@mail.com");
+        requester.setName("RequesterName");
+        tem.persist(requester);
+
+        var otherUser = new User();
+        otherUser.setEmail("other@mail.com");
+        otherUser.setName("OtherUserName");
+        tem.persist(otherUser);
+
+        var created = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        var first = tem.persist(createItemRequest(otherUser, created.plusMinutes(2)));
+        var second = tem.persist(createItemRequest(otherUser, created.plusMinutes(1)));
+        var third = tem.persist(createItemRequest(otherUser, created.plusMinutes(1)));
+        var fourth = tem.persist(createItemRequest(otherUser, created));
+        tem.persist(createItemRequest(requester, created.plusMinutes(1)));
+
+        var firstPage = itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(requester.getId(),
+                PageRequest.of(0, 2));
+        assertThat(firstPage, is(List.of(first, third)));
+
+        var secondPage = itemRequestRepository.findAllByRequesterIdNotAfter(requester.getId(), third.getCreated(),
+                third.getId(), PageRequest.of(0, 2));
+        assertThat(secondPage, is(List.of(second, fourth)));
+
+        var thirdPage = itemRequestRepository.findAllByRequesterIdNotAfter(requester.getId(), fourth.getCreated(),
+                fourth.getId(), PageRequest.of(0, 2));
+        assertThat(thirdPage.size(), is(0));
+    }
+
+    @Test
+    void findOpenItemRequestViews() {
+        var requester = new User();
+        requester.setEmail("requester@mail.com");
+        requester.setName("RequesterName");
+        tem.persist(requester);
+
+        var answered = tem.persist(createItemRequest(requester, LocalDateTime.now()));
+        var open = tem.persist(createItemRequest(requester, LocalDateTime.now()));
+
+        var item = new Item();
+        item.setName("ItemName");
+        item.setDescription("ItemDescription");
+        item.setAvailable(true);
+        item.setOwner(requester);
+        item.setRequest(answered);
+        tem.persist(item);
+
+        var openItemRequests = itemRequestRepository.findOpenItemRequestViews();
+
+        assertThat(openItemRequests.size(), is(1));
+        assertThat(openItemRequests.get(0).getId(), is(open.getId()));
+        assertThat(openItemRequests.get(0).getRequesterId(), is(requester.getId()));
+        assertThat(openItemRequests.get(0).getDescription(), is(open.getDescription()));
+    }
+
+    private static ItemRequest createItemRequest(User requester, LocalDateTime created) {
+        var itemRequest = new ItemRequest();
+        itemRequest.setRequester(requester);
+        itemRequest.setDescription("ItemRequestDescription");
+        itemRequest.setCreated(created);
+        return itemRequest;
+    }
 }
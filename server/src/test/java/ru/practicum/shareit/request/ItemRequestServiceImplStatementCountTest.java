@@ -0,0 +1,109 @@
+package ru.practicum.shareit.request;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemRequestServiceImpl.class, ItemRequestMatcher.class, UserServiceImpl.class, UserCache.class})
+public class ItemRequestServiceImplStatementCountTest {
+    private static final int ITEM_REQUESTS_COUNT = 20;
+    private static final int ITEMS_PER_REQUEST = 2;
+    private static final long GET_ITEM_REQUESTS_STATEMENT_COUNT = 3;
+
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private ItemRequestServiceImpl itemRequestService;
+
+    private User requester;
+    private User otherUser;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        requester = new User();
+        requester.setName("RequesterName");
+        requester.setEmail("requester@mail.com");
+        tem.persist(requester);
+
+        otherUser = new User();
+        otherUser.setName("OtherUserName");
+        otherUser.setEmail("other@mail.com");
+        tem.persist(otherUser);
+
+        for (int i = 0; i < ITEM_REQUESTS_COUNT; i++) {
+            var itemRequest = new ItemRequest();
+            itemRequest.setDescription("ItemRequestDescription" + i);
+            itemRequest.setRequester(requester);
+            itemRequest.setCreated(LocalDateTime.now().minusMinutes(i));
+            tem.persist(itemRequest);
+
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                var item = new Item();
+                item.setName("ItemName" + i + "-" + j);
+                item.setDescription("ItemDescription" + i + "-" + j);
+                item.setAvailable(true);
+                item.setOwner(otherUser);
+                item.setRequest(itemRequest);
+                tem.persist(item);
+            }
+        }
+        tem.flush();
+        tem.clear();
+
+        statistics = tem.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, ITEM_REQUESTS_COUNT})
+    void getItemRequestsFromOtherUsersIssuesConstantStatementCount(int size) {
+        var itemRequests = itemRequestService.getItemRequestsFromOtherUsers(otherUser.getId(), 0, size);
+
+        assertThat(itemRequests.size(), is(size));
+        itemRequests.forEach(itemRequestDto -> assertThat(itemRequestDto.getItems().size(), is(ITEMS_PER_REQUEST)));
+        assertThat(statistics.getPrepareStatementCount(), is(GET_ITEM_REQUESTS_STATEMENT_COUNT));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1})
+    void getItemRequestsByRequesterIdIssuesConstantStatementCount(int itemlessRequests) {
+        for (int i = 0; i < itemlessRequests; i++) {
+            var itemRequest = new ItemRequest();
+            itemRequest.setDescription("ItemlessRequestDescription" + i);
+            itemRequest.setRequester(requester);
+            itemRequest.setCreated(LocalDateTime.now().minusDays(1));
+            tem.persistAndFlush(itemRequest);
+        }
+        tem.clear();
+        statistics.clear();
+
+        var itemRequests = itemRequestService.getItemRequestsByRequesterId(requester.getId());
+
+        assertThat(itemRequests.size(), is(ITEM_REQUESTS_COUNT + itemlessRequests));
+        assertThat(itemRequests.get(itemRequests.size() - 1).getItems().size(),
+                is(itemlessRequests == 0 ? ITEMS_PER_REQUEST : 0));
+        assertThat(statistics.getPrepareStatementCount(), is(GET_ITEM_REQUESTS_STATEMENT_COUNT));
+    }
+}
@@ -4,17 +4,27 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.request.ItemRequestAccessException;
+import ru.practicum.shareit.exception.request.ItemRequestException;
 import ru.practicum.shareit.exception.request.ItemRequestNotFoundByIdException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDtoIn;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestCursor;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.request.service.ItemRequestMatcher;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -35,15 +45,23 @@ public class ItemRequestServiceImplTest {
     private UserService userService;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestMatcher itemRequestMatcher;
+    @Mock
+    private ItemSuggestionRepository itemSuggestionRepository;
 
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
     private static final long REQUESTER_ID = 1;
     private static final long ITEM_REQUEST_ID = 1;
+    private static final long ITEM_ID = 1;
 
     private User requester;
     private ItemRequest itemRequest;
+    private Item item;
     private ItemRequestDtoIn itemRequestDtoIn;
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
@@ -62,7 +80,11 @@ public class ItemRequestServiceImplTest {
         itemRequest.setRequester(requester);
         itemRequest.setDescription("ItemRequestDescription");
         itemRequest.setCreated(NOW);
-        itemRequest.setItems(List.of(new Item()));
+
+        item = new Item();
+        item.setId(ITEM_ID);
+        item.setName("ItemName");
+        item.setRequest(itemRequest);
 
         itemRequestDtoIn = new ItemRequestDtoIn();
         itemRequestDtoIn.setDescription(itemRequest.getDescription());
@@ -81,14 +103,16 @@ public class ItemRequestServiceImplTest {
 
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .save(Mockito.any(ItemRequest.class));
+        Mockito.verify(itemRequestMatcher, Mockito.times(1))
+                .index(itemRequest);
     }
 
     @Test
     void getItemRequestById() {
-        Mockito.when(userService.getUserById(REQUESTER_ID))
-                .thenReturn(UserMapper.toUserDto(requester));
         Mockito.when(itemRequestRepository.findById(ITEM_REQUEST_ID))
                 .thenReturn(Optional.of(itemRequest));
+        Mockito.when(itemRepository.findAllByRequestIdIn(List.of(ITEM_REQUEST_ID)))
+                .thenReturn(List.of(item));
 
         var itemRequestDtoOut = itemRequestService.getItemRequestById(REQUESTER_ID, ITEM_REQUEST_ID);
 
@@ -96,6 +120,7 @@ public class ItemRequestServiceImplTest {
         assertThat(itemRequestDtoOut.getDescription(), is(itemRequest.getDescription()));
         assertThat(itemRequestDtoOut.getCreated(), is(itemRequest.getCreated()));
         assertThat(itemRequestDtoOut.getItems().size(), is(1));
+        assertThat(itemRequestDtoOut.getItems().get(0).getId(), is(ITEM_ID));
 
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findById(ITEM_REQUEST_ID);
@@ -103,9 +128,6 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getItemRequestByWrongId() {
-        Mockito.when(userService.getUserById(REQUESTER_ID))
-                .thenReturn(UserMapper.toUserDto(requester));
-
         long wrongItemRequestId = 100;
         var itemException = Assertions.assertThrows(ItemRequestNotFoundByIdException.class,
                 () -> itemRequestService.getItemRequestById(REQUESTER_ID, wrongItemRequestId));
@@ -120,10 +142,10 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getItemRequestsByRequesterId() {
-        Mockito.when(userService.getUserById(REQUESTER_ID))
-                .thenReturn(UserMapper.toUserDto(requester));
         Mockito.when(itemRequestRepository.findAllByRequesterId(eq(REQUESTER_ID), Mockito.any(Sort.class)))
                 .thenReturn(List.of(itemRequest));
+        Mockito.when(itemRepository.findAllByRequestIdIn(List.of(ITEM_REQUEST_ID)))
+                .thenReturn(List.of(item));
 
         var itemRequests = itemRequestService.getItemRequestsByRequesterId(REQUESTER_ID);
 
@@ -142,10 +164,10 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getItemRequestsFromOtherUsers() {
-        Mockito.when(userService.getUserById(REQUESTER_ID))
-                .thenReturn(UserMapper.toUserDto(requester));
         Mockito.when(itemRequestRepository.findAllByRequesterIdNot(eq(REQUESTER_ID), Mockito.any(Pageable.class)))
                 .thenReturn(List.of(itemRequest));
+        Mockito.when(itemRepository.findAllByRequestIdIn(List.of(ITEM_REQUEST_ID)))
+                .thenReturn(List.of(item));
 
         var itemRequests = itemRequestService.getItemRequestsFromOtherUsers(REQUESTER_ID, 1, 10);
 
@@ -161,4 +183,83 @@ public class ItemRequestServiceImplTest {
         Mockito.verify(itemRequestRepository, Mockito.times(1))
                 .findAllByRequesterIdNot(eq(REQUESTER_ID), Mockito.any(Pageable.class));
     }
+
+    @ParameterizedTest
+    @CsvSource({"0, 10, 0", "10, 10, 1", "25, 10, 2"})
+    void getItemRequestsFromOtherUsersTreatsFromAsRowOffset(int from, int size, int page) {
+        itemRequestService.getItemRequestsFromOtherUsers(REQUESTER_ID, from, size);
+
+        Mockito.verify(itemRequestRepository, Mockito.times(1))
+                .findAllByRequesterIdNot(REQUESTER_ID, PageRequest.of(page, size, Sort.by("created").descending()));
+    }
+
+    @Test
+    void getItemRequestFeedFirstPage() {
+        var olderItemRequest = new ItemRequest();
+        olderItemRequest.setId(ITEM_REQUEST_ID + 1);
+        olderItemRequest.setCreated(NOW.minusDays(1));
+        Mockito.when(itemRequestRepository.findAllByRequesterIdNotOrderByCreatedDescIdDesc(REQUESTER_ID,
+                        PageRequest.of(0, 2)))
+                .thenReturn(List.of(itemRequest, olderItemRequest));
+        Mockito.when(itemRepository.findAllByRequestIdIn(List.of(ITEM_REQUEST_ID)))
+                .thenReturn(List.of(item));
+
+        var feed = itemRequestService.getItemRequestFeed(REQUESTER_ID, null, 1);
+
+        assertThat(feed.getRequests().size(), is(1));
+        assertThat(feed.getRequests().get(0).getId(), is(ITEM_REQUEST_ID));
+        assertThat(feed.getRequests().get(0).getItems().size(), is(1));
+        assertThat(ItemRequestCursor.from(feed.getNextCursor()), is(new ItemRequestCursor(NOW, ITEM_REQUEST_ID)));
+    }
+
+    @Test
+    void getItemRequestFeedLastPage() {
+        var after = new ItemRequestCursor(NOW.plusDays(1), ITEM_REQUEST_ID + 1);
+        Mockito.when(itemRequestRepository.findAllByRequesterIdNotAfter(REQUESTER_ID, after.getCreated(),
+                        after.getId(), PageRequest.of(0, 11)))
+                .thenReturn(List.of(itemRequest));
+
+        var feed = itemRequestService.getItemRequestFeed(REQUESTER_ID, after.toToken(), 10);
+
+        assertThat(feed.getRequests().size(), is(1));
+        assertThat(feed.getNextCursor(), is((String) null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not base64!", "MjAyMi0xMC0xMFQxMDowMA", "MjAyMi0xMC0xMFQxMDowMCxpZA",
+            "eWVzdGVyZGF5LDE"})
+    void getItemRequestFeedInvalidCursor(String after) {
+        var itemRequestException = Assertions.assertThrows(ItemRequestException.class,
+                () -> itemRequestService.getItemRequestFeed(REQUESTER_ID, after, 10));
+
+        Assertions.assertEquals(String.format("Invalid item request cursor: %s", after),
+                itemRequestException.getMessage());
+        Mockito.verifyNoInteractions(itemRequestRepository);
+    }
+
+    @Test
+    void getSuggestedItems() {
+        Mockito.when(itemRequestRepository.findById(ITEM_REQUEST_ID))
+                .thenReturn(Optional.of(itemRequest));
+        Mockito.when(itemSuggestionRepository.findAvailableItemsByRequestId(ITEM_REQUEST_ID))
+                .thenReturn(List.of(item));
+
+        var itemDtos = itemRequestService.getSuggestedItems(REQUESTER_ID, ITEM_REQUEST_ID);
+
+        assertThat(itemDtos.size(), is(1));
+        assertThat(itemDtos.get(0).getId(), is(ITEM_ID));
+    }
+
+    @Test
+    void getSuggestedItemsOfOtherUserRequest() {
+        long otherUserId = 2;
+        Mockito.when(itemRequestRepository.findById(ITEM_REQUEST_ID))
+                .thenReturn(Optional.of(itemRequest));
+
+        Assertions.assertThrows(ItemRequestAccessException.class,
+                () -> itemRequestService.getSuggestedItems(otherUserId, ITEM_REQUEST_ID));
+
+        Mockito.verify(itemSuggestionRepository, Mockito.never())
+                .findAvailableItemsByRequestId(Mockito.anyLong());
+    }
 }
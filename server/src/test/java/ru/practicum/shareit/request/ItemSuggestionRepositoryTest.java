@@ -0,0 +1,104 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemSuggestion;
+import ru.practicum.shareit.request.repository.ItemSuggestionRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest
+public class ItemSuggestionRepositoryTest {
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private ItemSuggestionRepository itemSuggestionRepository;
+
+    @Test
+    void findAvailableItemsByRequestId() {
+        var owner = new User();
+        owner.setEmail("owner@mail.com");
+        owner.setName("OwnerName");
+        tem.persist(owner);
+
+        var requester = new User();
+        requester.setEmail("requester@mail.com");
+        requester.setName("RequesterName");
+        tem.persist(requester);
+
+        var itemRequest = new ItemRequest();
+        itemRequest.setRequester(requester);
+        itemRequest.setDescription("Cordless drill");
+        itemRequest.setCreated(LocalDateTime.now());
+        tem.persist(itemRequest);
+
+        var drill = tem.persist(createItem(owner, "Drill", true));
+        var cordlessDrill = tem.persist(createItem(owner, "Cordless drill", true));
+        var brokenDrill = tem.persist(createItem(owner, "Broken drill", false));
+
+        var requestReference = new ItemRequest();
+        requestReference.setId(itemRequest.getId());
+        itemSuggestionRepository.saveAll(List.of(
+                createItemSuggestion(requestReference, drill, 1),
+                createItemSuggestion(requestReference, cordlessDrill, 2),
+                createItemSuggestion(requestReference, brokenDrill, 1)));
+
+        var items = itemSuggestionRepository.findAvailableItemsByRequestId(itemRequest.getId());
+
+        assertThat(items, is(List.of(cordlessDrill, drill)));
+    }
+
+    @Test
+    void findRequestIdsByItemId() {
+        var owner = new User();
+        owner.setEmail("owner@mail.com");
+        owner.setName("OwnerName");
+        tem.persist(owner);
+
+        var drillRequest = tem.persist(createItemRequest(owner, "Drill"));
+        var ladderRequest = tem.persist(createItemRequest(owner, "Ladder"));
+        var drill = tem.persist(createItem(owner, "Drill", true));
+        var ladder = tem.persist(createItem(owner, "Ladder", true));
+        itemSuggestionRepository.saveAll(List.of(
+                createItemSuggestion(drillRequest, drill, 1),
+                createItemSuggestion(ladderRequest, ladder, 1)));
+
+        assertThat(itemSuggestionRepository.findRequestIdsByItemId(drill.getId()), is(Set.of(drillRequest.getId())));
+    }
+
+    private static ItemRequest createItemRequest(User requester, String description) {
+        var itemRequest = new ItemRequest();
+        itemRequest.setRequester(requester);
+        itemRequest.setDescription(description);
+        itemRequest.setCreated(LocalDateTime.now());
+        return itemRequest;
+    }
+
+    private static Item createItem(User owner, String name, boolean available) {
+        var item = new Item();
+        item.setName(name);
+        item.setDescription("ItemDescription");
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static ItemSuggestion createItemSuggestion(ItemRequest itemRequest, Item item, int score) {
+        var itemSuggestion = new ItemSuggestion();
+        itemSuggestion.setRequest(itemRequest);
+        itemSuggestion.setItem(item);
+        itemSuggestion.setScore(score);
+        itemSuggestion.setCreated(LocalDateTime.now());
+        return itemSuggestion;
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -15,14 +16,20 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = UserController.class)
+@WebMvcTest(controllers = UserController.class, properties = "shareit.user.stream.max-concurrent=1")
 class UserControllerTest {
     @Autowired
     private ObjectMapper mapper;
@@ -50,15 +57,114 @@ class UserControllerTest {
         Mockito.when(userService.getAllUsers())
                 .thenReturn(List.of(userDto));
 
-        mvc.perform(get("/users", USER_ID)
+        mvc.perform(get("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
                 .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].name", is(userDto.getName()), String.class))
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail()), String.class));
     }
 
+    @Test
+    @DisplayName("successfullyGetFirstUsersPageOfDefaultSize [200]")
+    void getAllUsersFirstPage() throws Exception {
+        Mockito.when(userService.getAllUsers(0L, 1000))
+                .thenReturn(List.of(userDto));
+
+        mvc.perform(get("/users")
+                        .param("afterId", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class));
+
+        Mockito.verify(userService, Mockito.never()).getAllUsers();
+    }
+
+    @Test
+    @DisplayName("successfullyGetUsersPageAfterId [200]")
+    void getAllUsersAfterId() throws Exception {
+        Mockito.when(userService.getAllUsers(USER_ID, 2))
+                .thenReturn(List.of(userDto));
+
+        mvc.perform(get("/users")
+                        .param("afterId", String.valueOf(USER_ID))
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class));
+    }
+
+    @Test
+    @DisplayName("successfullyGetFullUsersPageWithNextLink [200]")
+    void getAllUsersFullPage() throws Exception {
+        var otherUserDto = new UserDto(2L, "OtherUserName", "OtherUserEmail@mail.com");
+        Mockito.when(userService.getAllUsers(0L, 2))
+                .thenReturn(List.of(userDto, otherUserDto));
+
+        mvc.perform(get("/users")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, "</users?afterId=2&size=2>; rel=\"next\""))
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Test
+    @DisplayName("successfullyStreamAllUsers [200]")
+    void streamAllUsers() throws Exception {
+        var otherUserDto = new UserDto(2L, "OtherUserName", "OtherUserEmail@mail.com");
+        Mockito.doAnswer(invocation -> {
+            Consumer<UserDto> action = invocation.getArgument(0);
+            action.accept(userDto);
+            action.accept(otherUserDto);
+            return null;
+        }).when(userService).forEachUser(Mockito.any());
+
+        var result = mvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout(), is(-1L));
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(userDto) + "\n"
+                        + mapper.writeValueAsString(otherUserDto) + "\n"));
+    }
+
+    @Test
+    @DisplayName("failedStreamAllUsersOverConcurrentStreamLimit [503]")
+    void streamAllUsersOverLimit() throws Exception {
+        var streamStarted = new CountDownLatch(1);
+        var finishStream = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            streamStarted.countDown();
+            finishStream.await();
+            return null;
+        }).when(userService).forEachUser(Mockito.any());
+
+        var result = mvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streamStarted.await();
+
+        mvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isServiceUnavailable());
+
+        finishStream.countDown();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        mvc.perform(get("/users/stream")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     @DisplayName("successfullyGetOneUserById [200]")
     void getUser() throws Exception {
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@DataJpaTest
+public class UserRepositoryTest {
+    @Autowired
+    private TestEntityManager tem;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user1;
+    private User user2;
+    private User user3;
+
+    @BeforeEach
+    void setUp() {
+        user1 = tem.persist(createUser("User1Name", "user1@mail.com"));
+        user2 = tem.persist(createUser("User2Name", "user2@mail.com"));
+        user3 = tem.persist(createUser("User3Name", "user3@mail.com"));
+    }
+
+    @Test
+    void findAllByIdGreaterThanOrderByIdAsc() {
+        var firstPage = userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2));
+        var secondPage = userRepository.findAllByIdGreaterThanOrderByIdAsc(firstPage.get(1).getId(),
+                PageRequest.of(0, 2));
+
+        assertThat(firstPage, is(List.of(user1, user2)));
+        assertThat(secondPage, is(List.of(user3)));
+    }
+
+    @Test
+    void streamAllUserDtos() {
+        List<UserDto> users;
+        try (var stream = userRepository.streamAllUserDtos()) {
+            users = stream.collect(Collectors.toList());
+        }
+
+        assertThat(users, is(List.of(
+                new UserDto(user1.getId(), user1.getName(), user1.getEmail()),
+                new UserDto(user2.getId(), user2.getName(), user2.getEmail()),
+                new UserDto(user3.getId(), user3.getName(), user3.getEmail()))));
+    }
+
+    private static User createUser(String name, String email) {
+        var user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.CachedUser;
+import ru.practicum.shareit.user.service.UserCache;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Runs without a test transaction, so that the updates commit and their cache puts run as they do in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({UserServiceImpl.class, UserCache.class, CacheConfig.class})
+public class UserServiceImplCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        user = new User();
+        user.setName("UserName");
+        user.setEmail("user@mail.com");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void getUserByIdIsCached() {
+        userService.getUserById(user.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(user.getId(), CachedUser.class),
+                is(new CachedUser(user.getId(), "UserName", "user@mail.com")));
+    }
+
+    @Test
+    void changingReturnedUserDoesNotChangeCachedUser() {
+        userService.getUserById(user.getId()).setName("ChangedName");
+
+        assertThat(userService.getUserById(user.getId()).getName(), is("UserName"));
+    }
+
+    @Test
+    void checkUserExistsCachesOnlyExistingUsers() {
+        userService.checkUserExists(user.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE).get(user.getId(), Boolean.class), is(true));
+
+        var wrongUserId = user.getId() + 100;
+        try {
+            userService.checkUserExists(wrongUserId);
+        } catch (RuntimeException ignored) {
+            // the missing user is reported by the exception and must not be cached
+        }
+        assertThat(cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE).get(wrongUserId), nullValue());
+    }
+
+    @Test
+    void updateUserRefreshesCachedUser() {
+        userService.getUserById(user.getId());
+
+        var userDto = new UserDto();
+        userDto.setName("UpdatedName");
+        userService.updateUser(user.getId(), userDto);
+
+        assertThat(userService.getUserById(user.getId()).getName(), is("UpdatedName"));
+    }
+
+    @Test
+    void deleteUserEvictsCachedUser() {
+        userService.getUserById(user.getId());
+        userService.checkUserExists(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(user.getId()), nullValue());
+        assertThat(cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE).get(user.getId()), nullValue());
+    }
+}
@@ -5,18 +5,21 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.user.UserNotFoundByIdException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -25,7 +28,6 @@ import static org.hamcrest.Matchers.is;
 public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
-    @InjectMocks
     private UserServiceImpl userService;
 
     private User user;
@@ -35,6 +37,8 @@ public class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        userService = new UserServiceImpl(userRepository, new UserCache(userRepository));
+
         user = new User();
         user.setId(USER_ID);
         user.setName("UserName");
@@ -75,17 +79,64 @@ public class UserServiceImplTest {
                 .findById(wrongUserId);
     }
 
+    @Test
+    void checkUserExists() {
+        Mockito.when(userRepository.existsById(USER_ID))
+                .thenReturn(true);
+
+        userService.checkUserExists(USER_ID);
+
+        Mockito.verify(userRepository, Mockito.never())
+                .findById(USER_ID);
+    }
+
+    @Test
+    void checkUserExistsWithWrongId() {
+        final long wrongUserId = 100;
+
+        final var userException = Assertions.assertThrows(
+                UserNotFoundByIdException.class, () -> userService.checkUserExists(wrongUserId));
+
+        Assertions.assertEquals(String.format("User with {id=%s} not found", wrongUserId),
+                userException.getMessage());
+    }
+
     @Test
     void getAllUsers() {
-        Mockito.when(userRepository.findAll())
-                .thenReturn(List.of(user));
+        var stream = Stream.of(userDtoIn).onClose(() -> userDtoIn.setName("Closed"));
+        Mockito.when(userRepository.streamAllUserDtos())
+                .thenReturn(stream);
 
         var users = userService.getAllUsers();
 
+        assertThat(users, is(List.of(userDtoIn)));
+        assertThat(userDtoIn.getName(), is("Closed"));
+    }
+
+    @Test
+    void getUsersPage() {
+        Mockito.when(userRepository.findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(user));
+
+        var users = userService.getAllUsers(0L, 10);
+
         assertThat(users.size(), is(1));
 
         Mockito.verify(userRepository, Mockito.times(1))
-                .findAll();
+                .findAllByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void forEachUser() {
+        var stream = Stream.of(userDtoIn).onClose(() -> userDtoIn.setName("Closed"));
+        Mockito.when(userRepository.streamAllUserDtos())
+                .thenReturn(stream);
+        var users = new ArrayList<UserDto>();
+
+        userService.forEachUser(users::add);
+
+        assertThat(users, is(List.of(userDtoIn)));
+        assertThat(userDtoIn.getName(), is("Closed"));
     }
 
     @Test